@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class Fixtures {
+    public static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    public static List<Item> items(int size) {
+        User owner = new User(1L, "owner", "owner@shareit.ru");
+        ItemRequest request = new ItemRequest(1L, "Нужна дрель", new User(2L, "booker", "booker@shareit.ru"),
+                NOW.minusDays(1));
+        List<Item> items = new ArrayList<>();
+
+        for (long i = 1; i <= size; i++) {
+            items.add(new Item(i, owner, "Дрель " + i, "Аккумуляторная дрель номер " + i, true,
+                    i % 2 == 0 ? request : null));
+        }
+        return items;
+    }
+
+    public static List<Booking> bookings(List<Item> items) {
+        User booker = new User(2L, "booker", "booker@shareit.ru");
+        List<Booking> bookings = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            bookings.add(new Booking((long) i + 1, NOW.plusDays(i), NOW.plusDays(i + 1), items.get(i), booker,
+                    BookingStatus.APPROVED));
+        }
+        return bookings;
+    }
+
+    public static List<BookingView> bookingViews(List<Item> items) {
+        List<BookingView> views = new ArrayList<>();
+
+        for (Booking booking : bookings(items)) {
+            views.add(new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                    booking.getItem().getId(), booking.getItem().getName(), booking.getBooker().getId(),
+                    booking.getBooker().getName()));
+        }
+        return views;
+    }
+
+    public static List<Comment> comments(List<Item> items) {
+        User author = new User(2L, "booker", "booker@shareit.ru");
+        List<Comment> comments = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            comments.add(new Comment((long) i + 1, "Отличная вещь " + i, items.get(i), author, NOW.minusHours(i)));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.Service.ItemService;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int ITEMS = 20;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 5;
+    private static final int REQUESTS = 50;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private ItemRequestService itemRequestService;
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.locations=classpath:db/migration/common",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--shareit.search.engine=memory",
+                        "--shareit.cache.items.broadcast=none",
+                        "--logging.level.root=WARN");
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getItems() {
+        return itemService.getItems(ownerId, 0, ITEMS);
+    }
+
+    @Benchmark
+    public ItemDto getItemById() {
+        return itemService.getItemById(ownerId, itemId);
+    }
+
+    @Benchmark
+    public List<BookingView> getBookingsOwner() {
+        return bookingService.getBookingsOwner(ownerId, "ALL", new BookingFilter(), 0, 20);
+    }
+
+    @Benchmark
+    public List<BookingView> getBookingState() {
+        return bookingService.getBookingState(bookerId, "PAST", new BookingFilter(), 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getRequestsFrom() {
+        return itemRequestService.getRequestsFrom(ownerId, 0, 20);
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        ItemRequestRepository itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = userRepository.save(new User(null, "owner", "owner@shareit.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booker@shareit.ru"));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            itemRequestRepository.save(new ItemRequest(null, "Нужна вещь " + i, booker, now.minusHours(i)));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(new Item(null, owner, "Дрель " + i, "Аккумуляторная дрель " + i,
+                    true, null));
+            itemId = item.getId();
+
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(2L * (j - BOOKINGS_PER_ITEM / 2));
+                bookingRepository.save(new Booking(null, start, start.plusDays(1), item, booker,
+                        BookingStatus.APPROVED));
+            }
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                commentRepository.save(new Comment(null, "Отличная вещь " + j, item, booker, now.minusDays(j)));
+            }
+        }
+    }
+}
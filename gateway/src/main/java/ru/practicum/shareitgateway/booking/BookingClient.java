@@ -1,59 +1,87 @@
 package ru.practicum.shareitgateway.booking;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareitgateway.booking.dto.BookingDtoEntity;
+import ru.practicum.shareitgateway.booking.dto.BookingDtoFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareitgateway.client.BaseClient;
+import ru.practicum.shareitgateway.client.ServerTransportFactory;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    private final Duration exportTimeout;
+
+    public BookingClient(ServerTransportFactory transports,
+                         @Value("${shareit.export.timeout:1h}") Duration exportTimeout) {
+        super(transports.create(API_PREFIX));
+        this.exportTimeout = exportTimeout;
     }
 
-    public ResponseEntity<Object> getBookingsOwner(Long id, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getBookingsOwner(Long id, String state, BookingDtoFilter filter, Integer from,
+                                                         Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", id, parameters);
+        ));
+        String path = "/owner?state={state}&from={from}&size={size}" + filterQuery(filter, parameters);
+        return getPage(path, id, parameters, cursor);
+    }
+
+    public Flux<String> exportBookingsOwner(Long id) {
+        return Flux.defer(() -> {
+            Mono<Long> deadline = Mono.delay(exportTimeout).cache();
+            return stream("/owner/export", id).timeout(deadline, line -> deadline);
+        });
     }
 
-    public ResponseEntity<Object> getBookingState(Long id, String state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getBookingState(Long id, String state, BookingDtoFilter filter, int from,
+                                                        int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", id, parameters);
+        ));
+        String path = "?state={state}&from={from}&size={size}" + filterQuery(filter, parameters);
+        return getPage(path, id, parameters, cursor);
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingDtoEntity bookingDtoEntity) {
+    public Mono<ResponseEntity<byte[]>> createBooking(Long userId, BookingDtoEntity bookingDtoEntity) {
         return post("", userId, bookingDtoEntity);
     }
 
-    public ResponseEntity<Object> bookingStatus(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<byte[]>> bookingStatus(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
+
+    private String filterQuery(BookingDtoFilter filter, Map<String, Object> parameters) {
+        StringBuilder query = new StringBuilder();
+        if (filter.getItemId() != null) {
+            parameters.put("itemId", filter.getItemId());
+            query.append("&itemId={itemId}");
+        }
+        if (filter.getRangeStart() != null) {
+            parameters.put("rangeStart", filter.getRangeStart());
+            query.append("&rangeStart={rangeStart}");
+        }
+        if (filter.getRangeEnd() != null) {
+            parameters.put("rangeEnd", filter.getRangeEnd());
+            query.append("&rangeEnd={rangeEnd}");
+        }
+        return query.toString();
+    }
 }
@@ -2,11 +2,15 @@ package ru.practicum.shareitgateway.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareitgateway.booking.dto.BookingDtoEntity;
+import ru.practicum.shareitgateway.booking.dto.BookingDtoFilter;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -22,41 +26,51 @@ public class BookingController {
     private static final String HEADER = "X-Sharer-User-Id";
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOwner(@RequestHeader(HEADER) Long id,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                   @Positive @RequestParam(defaultValue = "5") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getBookingsOwner(@RequestHeader(HEADER) Long id,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(defaultValue = "5") Integer size,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @Valid BookingDtoFilter filter) {
         log.info("New GET /bookings/owner request");
-        return bookingClient.getBookingsOwner(id, state, from, size);
+        return bookingClient.getBookingsOwner(id, state, filter, from, size, cursor);
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> exportBookingsOwner(@RequestHeader(HEADER) Long id) {
+        log.info("New GET /bookings/owner/export request");
+        return bookingClient.exportBookingsOwner(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingState(@RequestHeader(HEADER) Long id,
-                                                  @RequestParam(defaultValue = "ALL") String state,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                  @Positive @RequestParam(defaultValue = "5") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getBookingState(@RequestHeader(HEADER) Long id,
+                                                        @RequestParam(defaultValue = "ALL") String state,
+                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(defaultValue = "5") Integer size,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @Valid BookingDtoFilter filter) {
         log.info("New GET /bookings request");
-        return bookingClient.getBookingState(id, state, from, size);
+        return bookingClient.getBookingState(id, state, filter, from, size, cursor);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(HEADER) Long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> getBooking(@RequestHeader(HEADER) Long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("New GET /bookings/{} request", bookingId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(HEADER) Long userId,
-                                                @Valid @RequestBody BookingDtoEntity bookingDtoEntity) {
+    public Mono<ResponseEntity<byte[]>> createBooking(@RequestHeader(HEADER) Long userId,
+                                                      @Valid @RequestBody BookingDtoEntity bookingDtoEntity) {
         log.info("New POST /bookings request");
         return bookingClient.createBooking(userId, bookingDtoEntity);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> bookingStatus(@RequestHeader(HEADER) Long userId,
-                                                @PathVariable Long bookingId,
-                                                @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<byte[]>> bookingStatus(@RequestHeader(HEADER) Long userId,
+                                                      @PathVariable Long bookingId,
+                                                      @RequestParam Boolean approved) {
         log.info("New PATCH /bookings/{} request", bookingId);
         return bookingClient.bookingStatus(userId, bookingId, approved);
     }
@@ -0,0 +1,33 @@
+package ru.practicum.shareitgateway.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+@UtilityClass
+public class GatewayResponses {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            "keep-alive"
+    );
+
+    public static <T> ResponseEntity<T> passthrough(HttpStatus status, @Nullable HttpHeaders serverHeaders,
+                                                    @Nullable T body) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+}
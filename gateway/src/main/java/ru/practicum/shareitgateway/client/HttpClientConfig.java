@@ -0,0 +1,110 @@
+package ru.practicum.shareitgateway.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "blocking", matchIfMissing = true)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    private static final String POOL_CONNECTIONS = "http.client.pool.connections";
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+        long keepAlive = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return announced > 0 ? Math.min(announced, keepAlive) : keepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler serverExchangeScheduler(HttpClientProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getMaxTotal(), Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "server-exchange");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public StreamLimiter serverStreamLimiter(HttpClientProperties properties) {
+        return new StreamLimiter(properties.getMaxStreams());
+    }
+
+    @Bean
+    public ServerTransportFactory restTemplateTransports(@Value("${shareit-server.url}") String serverUrl,
+                                                         RestTemplateBuilder builder,
+                                                         ClientHttpRequestFactory serverRequestFactory,
+                                                         Scheduler serverExchangeScheduler,
+                                                         StreamLimiter serverStreamLimiter,
+                                                         MeterRegistry meterRegistry) {
+        return apiPrefix -> new MeteredServerTransport(new RestTemplateTransport(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> serverRequestFactory)
+                .build(), serverExchangeScheduler, serverStreamLimiter), meterRegistry, apiPrefix);
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return registry -> {
+            Gauge.builder(POOL_CONNECTIONS, serverConnectionManager, pool -> pool.getTotalStats().getLeased())
+                    .tag("state", "leased")
+                    .register(registry);
+            Gauge.builder(POOL_CONNECTIONS, serverConnectionManager, pool -> pool.getTotalStats().getAvailable())
+                    .tag("state", "available")
+                    .register(registry);
+            Gauge.builder(POOL_CONNECTIONS, serverConnectionManager, pool -> pool.getTotalStats().getPending())
+                    .tag("state", "pending")
+                    .register(registry);
+            Gauge.builder("http.client.pool.max", serverConnectionManager, pool -> pool.getTotalStats().getMax())
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareitgateway.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 200;
+
+    private int maxStreams = 4;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration socketTimeout = Duration.ofSeconds(30);
+
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
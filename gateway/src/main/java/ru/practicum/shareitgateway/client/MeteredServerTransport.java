@@ -0,0 +1,69 @@
+package ru.practicum.shareitgateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class MeteredServerTransport implements ServerTransport {
+    public static final String CLIENT_REQUESTS = "shareit.gateway.client.requests";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+");
+
+    private final ServerTransport delegate;
+    private final MeterRegistry registry;
+    private final String apiPrefix;
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .doOnSuccess(response -> stop(sample, method, path,
+                            response == null ? "NONE" : String.valueOf(response.getStatusCodeValue())))
+                    .doOnError(e -> stop(sample, method, path, "IO_ERROR"));
+        });
+    }
+
+    @Override
+    public Flux<String> stream(String path, HttpHeaders headers) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return delegate.stream(path, headers)
+                    .doOnComplete(() -> stop(sample, HttpMethod.GET, path, String.valueOf(HttpStatus.OK.value())))
+                    .doOnError(e -> stop(sample, HttpMethod.GET, path, errorStatus(e)))
+                    .doOnCancel(() -> stop(sample, HttpMethod.GET, path, "CANCELLED"));
+        });
+    }
+
+    private String errorStatus(Throwable e) {
+        if (e instanceof ServerResponseException) {
+            return String.valueOf(((ServerResponseException) e).getResponse().getStatusCodeValue());
+        }
+        return "IO_ERROR";
+    }
+
+    private void stop(Timer.Sample sample, HttpMethod method, String path, String status) {
+        sample.stop(Timer.builder(CLIENT_REQUESTS)
+                .tag("method", method.name())
+                .tag("uri", uri(path))
+                .tag("status", status)
+                .register(registry));
+    }
+
+    private String uri(String path) {
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        return apiPrefix + ID_SEGMENT.matcher(route).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareitgateway.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.EofSensorInputStream;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static ru.practicum.shareitgateway.client.GatewayResponses.passthrough;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RestTemplateTransport implements ServerTransport {
+    private static final String NEW_LINE = "\n";
+
+    private final RestTemplate rest;
+    private final Scheduler exchanges;
+    private final StreamLimiter streams;
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, new HttpEntity<>(body, headers), parameters))
+                .subscribeOn(exchanges);
+    }
+
+    @Override
+    public Flux<String> stream(String path, HttpHeaders headers) {
+        return streams.limit(Flux.using(() -> open(path, headers), RestTemplateTransport::lines,
+                RestTemplateTransport::release));
+    }
+
+    private ClientHttpResponse open(String path, HttpHeaders headers) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().addAll(headers);
+        return request.execute();
+    }
+
+    private static Flux<String> lines(ClientHttpResponse response) {
+        try {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return Flux.error(new ServerResponseException(passthrough(response.getStatusCode(),
+                        response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()))));
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(response.getBody(),
+                    StandardCharsets.UTF_8));
+            return Flux.fromStream(reader::lines)
+                    .map(line -> line + NEW_LINE);
+        } catch (IOException e) {
+            return Flux.error(new UncheckedIOException(e));
+        }
+    }
+
+    private static void release(ClientHttpResponse response) {
+        try {
+            InputStream body = response.getBody();
+            if (body instanceof EofSensorInputStream) {
+                ((EofSensorInputStream) body).abortConnection();
+                return;
+            }
+        } catch (IOException e) {
+            log.debug("Не удалось прервать соединение с сервером", e);
+        }
+        response.close();
+    }
+
+    private ResponseEntity<byte[]> send(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return passthrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return passthrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+}
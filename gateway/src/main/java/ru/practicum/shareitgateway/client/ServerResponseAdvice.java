@@ -0,0 +1,13 @@
+package ru.practicum.shareitgateway.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ServerResponseAdvice {
+    @ExceptionHandler
+    public ResponseEntity<byte[]> handleServerResponse(final ServerResponseException e) {
+        return e.getResponse();
+    }
+}
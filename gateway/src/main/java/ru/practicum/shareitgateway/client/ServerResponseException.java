@@ -0,0 +1,14 @@
+package ru.practicum.shareitgateway.client;
+
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+@Getter
+public class ServerResponseException extends RuntimeException {
+    private final transient ResponseEntity<byte[]> response;
+
+    public ServerResponseException(ResponseEntity<byte[]> response) {
+        super("Сервер ответил статусом " + response.getStatusCodeValue());
+        this.response = response;
+    }
+}
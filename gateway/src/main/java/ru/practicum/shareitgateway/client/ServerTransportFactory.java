@@ -0,0 +1,5 @@
+package ru.practicum.shareitgateway.client;
+
+public interface ServerTransportFactory {
+    ServerTransport create(String apiPrefix);
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareitgateway.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+public class StreamLimiter {
+    private static final byte[] REJECTED = "{\"error\":\"Слишком много одновременных выгрузок\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Semaphore permits;
+    private final Scheduler scheduler;
+
+    public StreamLimiter(int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.scheduler = Schedulers.newBoundedElastic(maxConcurrent, maxConcurrent, "server-stream");
+    }
+
+    public <T> Flux<T> limit(Flux<T> stream) {
+        return Flux.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Flux.error(new ServerResponseException(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(REJECTED)));
+            }
+            return stream.subscribeOn(scheduler)
+                    .doFinally(signal -> permits.release());
+        });
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public void dispose() {
+        scheduler.dispose();
+    }
+}
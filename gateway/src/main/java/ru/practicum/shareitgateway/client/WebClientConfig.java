@@ -0,0 +1,48 @@
+package ru.practicum.shareitgateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientConfig {
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .maxLifeTime(properties.getTimeToLive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerTransportFactory webClientTransports(@Value("${shareit-server.url}") String serverUrl,
+                                                      WebClient.Builder builder,
+                                                      ConnectionProvider serverConnectionProvider,
+                                                      HttpClientProperties properties,
+                                                      MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getSocketTimeout());
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+
+        return apiPrefix -> new MeteredServerTransport(new WebClientTransport(builder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .clientConnector(connector)
+                .build()), meterRegistry, apiPrefix);
+    }
+}
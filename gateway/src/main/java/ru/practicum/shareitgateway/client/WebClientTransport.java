@@ -0,0 +1,51 @@
+package ru.practicum.shareitgateway.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static ru.practicum.shareitgateway.client.GatewayResponses.passthrough;
+
+@RequiredArgsConstructor
+public class WebClientTransport implements ServerTransport {
+    private static final String NEW_LINE = "\n";
+
+    private final WebClient webClient;
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+
+        if (body != null) {
+            return request.bodyValue(body).exchangeToMono(WebClientTransport::toGatewayResponse);
+        }
+        return request.exchangeToMono(WebClientTransport::toGatewayResponse);
+    }
+
+    @Override
+    public Flux<String> stream(String path, HttpHeaders headers) {
+        return webClient.get()
+                .uri(path)
+                .headers(requestHeaders -> requestHeaders.addAll(headers))
+                .exchangeToFlux(response -> response.statusCode().is2xxSuccessful()
+                        ? response.bodyToFlux(String.class).map(line -> line + NEW_LINE)
+                        : toGatewayResponse(response).flatMapMany(entity ->
+                        Flux.error(new ServerResponseException(entity))));
+    }
+
+    private static Mono<ResponseEntity<byte[]>> toGatewayResponse(ClientResponse response) {
+        return response.toEntity(byte[].class)
+                .map(entity -> passthrough(entity.getStatusCode(), entity.getHeaders(), entity.getBody()));
+    }
+}
@@ -1,33 +1,30 @@
 package ru.practicum.shareitgateway.item;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareitgateway.client.BaseClient;
+import ru.practicum.shareitgateway.client.ServerTransportFactory;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
-    public ItemClient(@Value("${shareit-server.url}") String itemUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(itemUrl + "/items"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemClient(ServerTransportFactory transports) {
+        super(transports.create("/items"));
     }
 
-    public ResponseEntity<Object> getItems(Long userId, int from, int size) {
+    public Mono<ResponseEntity<byte[]>> getItems(Long userId, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return getPage("?from={from}&size={size}", userId, parameters, cursor);
     }
 
-    public ResponseEntity<Object> getItemsText(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getItemsText(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -36,23 +33,35 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long id) {
+    public Mono<ResponseEntity<byte[]>> getAvailability(Long userId, Long id, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + id + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getItemById(Long userId, Long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> createItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> createComment(CommentDto commentDto, Long userId, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> createItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<byte[]>> createComment(CommentDto commentDto, Long userId, Long itemId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> updateItemById(Long userId, Long itemId, ItemDto item) {
+    public Mono<ResponseEntity<byte[]>> updateItemById(Long userId, Long itemId, ItemDto item) {
         return patch("/" + itemId, userId, item);
     }
 
-    public ResponseEntity<Object> deleteItemById(Long id) {
+    public Mono<ResponseEntity<byte[]>> deleteItemById(Long id) {
         return delete("/" + id);
     }
 }
@@ -2,14 +2,20 @@ package ru.practicum.shareitgateway.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Controller
 @Slf4j
@@ -21,53 +27,73 @@ public class ItemController {
     private static final String HEADER = "X-Sharer-User-Id";
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader(HEADER) Long userId,
-                                           @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                           @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getItems(@RequestHeader(HEADER) Long userId,
+                                                 @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                 @Positive @RequestParam(defaultValue = "10") Integer size,
+                                                 @RequestParam(required = false) String cursor) {
         log.info("New GET /items request");
-        return itemClient.getItems(userId, from, size);
+        return itemClient.getItems(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsText(@RequestParam String text,
-                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getItemsText(@RequestParam String text,
+                                                     @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(defaultValue = "10") Integer size) {
         log.info("New GET /items/search request");
         return itemClient.getItemsText(text, from, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItemById(@RequestHeader(HEADER) Long userId,
-                                              @PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> getItemById(@RequestHeader(HEADER) Long userId,
+                                                    @PathVariable Long id) {
         log.info("New GET /items/{} request", id);
         return itemClient.getItemById(userId, id);
     }
 
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<byte[]>> getAvailability(@RequestHeader(HEADER) Long userId,
+                                                        @PathVariable Long id,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        log.info("New GET /items/{}/availability request", id);
+        return itemClient.getAvailability(userId, id, from, to);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(HEADER) Long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> createItem(@RequestHeader(HEADER) Long userId,
+                                                   @Valid @RequestBody ItemDto itemDto) {
         log.info("New POST /items request");
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<byte[]>> createItems(@RequestHeader(HEADER) Long userId,
+                                                    @NotEmpty @Size(max = 1000)
+                                                    @RequestBody List<@Valid ItemDto> itemDtos) {
+        log.info("New POST /items/batch request");
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
-                                                @RequestHeader(HEADER) Long userId,
-                                                @PathVariable Long itemId) {
+    public Mono<ResponseEntity<byte[]>> createComment(@Valid @RequestBody CommentDto commentDto,
+                                                      @RequestHeader(HEADER) Long userId,
+                                                      @PathVariable Long itemId) {
         log.info("New POST /items/{}/comment request", itemId);
         return itemClient.createComment(commentDto, userId, itemId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateUserByIdPatch(@RequestHeader(HEADER) Long userId,
-                                                      @PathVariable Long itemId,
-                                                      @Valid @RequestBody ItemDto item) {
+    public Mono<ResponseEntity<byte[]>> updateUserByIdPatch(@RequestHeader(HEADER) Long userId,
+                                                            @PathVariable Long itemId,
+                                                            @Valid @RequestBody ItemDto item) {
         log.info("New PATCH /items/{} request", itemId);
         return itemClient.updateItemById(userId, itemId, item);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(@PathVariable Long id) {
         log.info("New DELETE /items/{} request", id);
         return itemClient.deleteItemById(id);
     }
@@ -1,43 +1,36 @@
 package ru.practicum.shareitgateway.request;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareitgateway.client.BaseClient;
+import ru.practicum.shareitgateway.client.ServerTransportFactory;
 
 import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String itemRequestUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(itemRequestUrl + "/requests"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public ItemRequestClient(ServerTransportFactory transports) {
+        super(transports.create("/requests"));
     }
 
-    public ResponseEntity<Object> getRequests(Long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequestsFrom(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getRequestsFrom(Long userId, Integer from, Integer size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getPage("/all?from={from}&size={size}", userId, parameters, cursor);
     }
 
-    public ResponseEntity<Object> getRequestsById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> createRequests(Long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> createRequests(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -21,29 +22,30 @@ public class ItemRequestController {
     private static final String HEADER = "X-Sharer-User-Id";
 
     @GetMapping
-    public ResponseEntity<Object> getRequests(@RequestHeader(HEADER) Long userId) {
+    public Mono<ResponseEntity<byte[]>> getRequests(@RequestHeader(HEADER) Long userId) {
         log.info("New GET /requests request");
         return itemRequestClient.getRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequestsFrom(@RequestHeader(HEADER) Long userId,
-                                                  @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                                                  @Positive @RequestParam(defaultValue = "5") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getRequestsFrom(@RequestHeader(HEADER) Long userId,
+                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(defaultValue = "5") Integer size,
+                                                        @RequestParam(required = false) String cursor) {
         log.info("New GET /requests/all request");
-        return itemRequestClient.getRequestsFrom(userId, from, size);
+        return itemRequestClient.getRequestsFrom(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestsById(@RequestHeader(HEADER) Long userId,
-                                                  @PathVariable Long requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsById(@RequestHeader(HEADER) Long userId,
+                                                        @PathVariable Long requestId) {
         log.info("New GET /requests/{} request", requestId);
         return itemRequestClient.getRequestsById(userId, requestId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createRequests(@RequestHeader(HEADER) Long userId,
-                                                 @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> createRequests(@RequestHeader(HEADER) Long userId,
+                                                       @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("New POST /requests request");
         return itemRequestClient.createRequests(userId, itemRequestDto);
     }
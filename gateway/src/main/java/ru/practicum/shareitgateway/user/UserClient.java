@@ -1,41 +1,34 @@
 package ru.practicum.shareitgateway.user;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareitgateway.client.BaseClient;
+import ru.practicum.shareitgateway.client.ServerTransportFactory;
 
 @Service
 public class UserClient extends BaseClient {
-    @Autowired
-    public UserClient(@Value("${shareit-server.url}") String userUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(userUrl + "/users"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+    public UserClient(ServerTransportFactory transports) {
+        super(transports.create("/users"));
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<byte[]>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(Long id) {
+    public Mono<ResponseEntity<byte[]>> getUserById(Long id) {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> createUser(UserDto user) {
+    public Mono<ResponseEntity<byte[]>> createUser(UserDto user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> updateUserById(Long userId, UserDto user) {
+    public Mono<ResponseEntity<byte[]>> updateUserById(Long userId, UserDto user) {
         return patch("/" + userId, user);
     }
 
-    public ResponseEntity<Object> deleteUserById(Long id) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(Long id) {
         return delete("/" + id);
     }
 }
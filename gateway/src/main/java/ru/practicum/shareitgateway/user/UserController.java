@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
@@ -18,32 +19,32 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<byte[]>> getUsers() {
         log.info("New GET /users request");
         return userClient.getUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> getUserById(@PathVariable Long id) {
         log.info("New GET /users/{} request", id);
         return userClient.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto user) {
+    public Mono<ResponseEntity<byte[]>> createUser(@Valid @RequestBody UserDto user) {
         log.info("New POST /users request");
         return userClient.createUser(user);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUserByIdPatch(@PathVariable Long userId,
-                                                      @Valid @RequestBody UserDto user) {
+    public Mono<ResponseEntity<byte[]>> updateUserByIdPatch(@PathVariable Long userId,
+                                                            @Valid @RequestBody UserDto user) {
         log.info("New PATCH /users/{} request", userId);
         return userClient.updateUserById(userId, user);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<byte[]>> deleteUserById(@PathVariable Long id) {
         log.info("New DELETE /users/{} request", id);
         return userClient.deleteUserById(id);
     }
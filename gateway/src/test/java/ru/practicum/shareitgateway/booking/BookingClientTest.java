@@ -0,0 +1,46 @@
+package ru.practicum.shareitgateway.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareitgateway.client.ServerTransport;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingClientTest {
+    @Mock
+    ServerTransport transport;
+
+    @Test
+    void exportCompletesBeforeDeadline() {
+        when(transport.stream(eq("/owner/export"), any())).thenReturn(Flux.just("{\"id\":1}\n", "{\"id\":2}\n"));
+        BookingClient client = new BookingClient(prefix -> transport, Duration.ofMillis(200));
+
+        assertEquals(List.of("{\"id\":1}\n", "{\"id\":2}\n"), client.exportBookingsOwner(1L).collectList()
+                .block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void exportIsCutAtDeadlineEvenWhileLinesArrive() {
+        when(transport.stream(eq("/owner/export"), any()))
+                .thenReturn(Flux.interval(Duration.ofMillis(20)).map(i -> "{\"id\":" + i + "}\n"));
+        BookingClient client = new BookingClient(prefix -> transport, Duration.ofMillis(200));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> client.exportBookingsOwner(1L).blockLast(Duration.ofSeconds(5)));
+
+        assertTrue(exception.getCause() instanceof TimeoutException, exception.toString());
+    }
+}
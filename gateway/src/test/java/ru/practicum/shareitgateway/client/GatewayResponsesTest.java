@@ -0,0 +1,47 @@
+package ru.practicum.shareitgateway.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatewayResponsesTest {
+    @Test
+    void passthroughKeepsStatusBodyAndEndToEndHeaders() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.add("X-Next-Cursor", "abc");
+        serverHeaders.add("Connection", "keep-alive");
+        serverHeaders.add("Keep-Alive", "timeout=5");
+        serverHeaders.add("content-length", "2");
+        serverHeaders.add("Transfer-Encoding", "chunked");
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<byte[]> response = GatewayResponses.passthrough(HttpStatus.NOT_FOUND, serverHeaders, body);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(body, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void passthroughWithoutHeaders() {
+        ResponseEntity<byte[]> response = GatewayResponses.passthrough(HttpStatus.NO_CONTENT, null, null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertTrue(response.getHeaders().isEmpty());
+    }
+}
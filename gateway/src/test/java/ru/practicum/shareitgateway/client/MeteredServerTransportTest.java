@@ -0,0 +1,81 @@
+package ru.practicum.shareitgateway.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareitgateway.client.MeteredServerTransport.CLIENT_REQUESTS;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredServerTransportTest {
+    @Mock
+    private ServerTransport delegate;
+
+    private SimpleMeterRegistry registry;
+    private MeteredServerTransport transport;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        transport = new MeteredServerTransport(delegate, registry, "/items");
+    }
+
+    @Test
+    void idsShareOneUriTag() {
+        when(delegate.exchange(eq(HttpMethod.GET), anyString(), any(), any(), isNull()))
+                .thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        transport.exchange(HttpMethod.GET, "/123", new HttpHeaders(), null, null).block(Duration.ofSeconds(5));
+        transport.exchange(HttpMethod.GET, "/456?approved={approved}", new HttpHeaders(),
+                Map.of("approved", true), null).block(Duration.ofSeconds(5));
+
+        Timer timer = registry.find(CLIENT_REQUESTS).tags("method", "GET", "uri", "/items/{id}", "status", "200")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(1, registry.find(CLIENT_REQUESTS).timers().size());
+    }
+
+    @Test
+    void queryStringIsDropped() {
+        when(delegate.exchange(eq(HttpMethod.GET), anyString(), any(), any(), isNull()))
+                .thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        transport.exchange(HttpMethod.GET, "?from={from}&size={size}", new HttpHeaders(),
+                Map.of("from", 0, "size", 10), null).block(Duration.ofSeconds(5));
+        transport.exchange(HttpMethod.GET, "/search?text={text}", new HttpHeaders(),
+                Map.of("text", "дрель"), null).block(Duration.ofSeconds(5));
+
+        assertEquals(1, registry.find(CLIENT_REQUESTS).tag("uri", "/items").timer().count());
+        assertEquals(1, registry.find(CLIENT_REQUESTS).tag("uri", "/items/search").timer().count());
+    }
+
+    @Test
+    void streamIsTaggedWithItsRoute() {
+        when(delegate.stream(anyString(), any())).thenReturn(Flux.just("{\"id\":1}\n"));
+
+        transport.stream("/owner/export?state={state}", new HttpHeaders()).blockLast(Duration.ofSeconds(5));
+
+        assertEquals(1, registry.find(CLIENT_REQUESTS).tags("uri", "/items/owner/export", "status", "200")
+                .timer().count());
+    }
+}
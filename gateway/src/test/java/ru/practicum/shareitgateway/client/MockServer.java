@@ -0,0 +1,98 @@
+package ru.practicum.shareitgateway.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class MockServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BlockingQueue<HttpHandler> responses = new LinkedBlockingQueue<>();
+    private final BlockingQueue<HttpExchange> requests = new LinkedBlockingQueue<>();
+
+    MockServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            requests.add(exchange);
+            HttpHandler handler = responses.poll();
+
+            if (handler == null) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            handler.handle(exchange);
+        });
+        server.start();
+    }
+
+    String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    void enqueue(HttpHandler handler) {
+        responses.add(handler);
+    }
+
+    HttpExchange takeRequest() throws InterruptedException {
+        return requests.poll(5, TimeUnit.SECONDS);
+    }
+
+    static HttpHandler respond(int status, String body, Map<String, String> headers) {
+        return exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        };
+    }
+
+    static HttpHandler streamUntilAborted(String line) {
+        return exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            try {
+                for (int i = 0; i < 200; i++) {
+                    out.write(line.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    Thread.sleep(50);
+                }
+            } catch (IOException | InterruptedException e) {
+                return;
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    static HttpHandler breakAfter(String line) {
+        return exchange -> {
+            exchange.sendResponseHeaders(200, 1024);
+            OutputStream out = exchange.getResponseBody();
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            exchange.close();
+        };
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
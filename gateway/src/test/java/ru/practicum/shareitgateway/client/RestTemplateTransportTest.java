@@ -0,0 +1,163 @@
+package ru.practicum.shareitgateway.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareitgateway.client.MockServer.breakAfter;
+import static ru.practicum.shareitgateway.client.MockServer.respond;
+import static ru.practicum.shareitgateway.client.MockServer.streamUntilAborted;
+import static ru.practicum.shareitgateway.client.StreamLimiterTest.awaitPermits;
+
+class RestTemplateTransportTest {
+    private MockServer server;
+    private Scheduler exchanges;
+    private StreamLimiter limiter;
+    private RestTemplateTransport transport;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockServer();
+        exchanges = Schedulers.newBoundedElastic(2, 10, "server-exchange");
+        limiter = new StreamLimiter(1);
+        transport = new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(server.url("/bookings")))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(HttpClients.createDefault()))
+                .build(), exchanges, limiter);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        exchanges.dispose();
+        limiter.dispose();
+        server.close();
+    }
+
+    @Test
+    void exchangePassesStatusBodyAndHeadersThrough() throws InterruptedException {
+        server.enqueue(respond(200, "[{\"id\":1}]", Map.of(
+                "Content-Type", "application/json",
+                "X-Next-Cursor", "abc",
+                "Keep-Alive", "timeout=5")));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, "?state={state}", headers,
+                Map.of("state", "ALL"), null).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[{\"id\":1}]", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        HttpExchange request = server.takeRequest();
+        assertEquals("/bookings?state=ALL", request.getRequestURI().toString());
+        assertEquals("7", request.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void exchangeRunsOffTheCallingThread() {
+        server.enqueue(respond(200, "[]", Map.of("Content-Type", "application/json")));
+
+        String thread = transport.exchange(HttpMethod.GET, "", new HttpHeaders(), null, null)
+                .map(response -> Thread.currentThread().getName())
+                .block(Duration.ofSeconds(5));
+
+        assertTrue(thread.startsWith("server-exchange"), thread);
+    }
+
+    @Test
+    void exchangePassesErrorResponsesThrough() {
+        server.enqueue(respond(404, "{\"error\":\"not found\"}", Map.of("Content-Type", "application/json")));
+
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void streamSplitsLinesAndReleasesPermit() {
+        server.enqueue(respond(200, "{\"id\":1}\n{\"id\":2}\n", Map.of("Content-Type", "application/x-ndjson")));
+
+        List<String> lines = transport.stream("/owner/export", new HttpHeaders()).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("{\"id\":1}\n", "{\"id\":2}\n"), lines);
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void streamCancelledByClientReleasesPermit() {
+        server.enqueue(streamUntilAborted("{\"id\":1}\n"));
+
+        List<String> lines = transport.stream("/owner/export", new HttpHeaders()).take(1).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("{\"id\":1}\n"), lines);
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void streamOverTheLimitIsRejected() {
+        server.enqueue(streamUntilAborted("{\"id\":1}\n"));
+        Disposable open = transport.stream("/owner/export", new HttpHeaders()).subscribe();
+        awaitPermits(limiter, 0);
+
+        ServerResponseException exception = assertThrows(ServerResponseException.class,
+                () -> transport.stream("/owner/export", new HttpHeaders()).blockLast(Duration.ofSeconds(5)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getResponse().getStatusCode());
+
+        open.dispose();
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void streamBrokenByServerReleasesPermit() {
+        server.enqueue(breakAfter("{\"id\":1}\n"));
+
+        assertThrows(UncheckedIOException.class,
+                () -> transport.stream("/owner/export", new HttpHeaders()).blockLast(Duration.ofSeconds(5)));
+
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void streamErrorStatusReleasesPermit() {
+        server.enqueue(respond(500, "{\"error\":\"boom\"}", Map.of("Content-Type", "application/json")));
+
+        ServerResponseException exception = assertThrows(ServerResponseException.class,
+                () -> transport.stream("/owner/export", new HttpHeaders()).blockLast(Duration.ofSeconds(5)));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getResponse().getStatusCode());
+        assertEquals("{\"error\":\"boom\"}", new String(exception.getResponse().getBody(),
+                StandardCharsets.UTF_8));
+        awaitPermits(limiter, 1);
+    }
+}
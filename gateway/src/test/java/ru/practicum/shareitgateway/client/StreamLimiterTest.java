@@ -0,0 +1,66 @@
+package ru.practicum.shareitgateway.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamLimiterTest {
+    private final StreamLimiter limiter = new StreamLimiter(1);
+
+    @AfterEach
+    public void tearDown() {
+        limiter.dispose();
+    }
+
+    @Test
+    void rejectsStreamsOverTheLimit() {
+        Disposable first = limiter.limit(Flux.never()).subscribe();
+
+        ServerResponseException exception = assertThrows(ServerResponseException.class,
+                () -> limiter.limit(Flux.just("a")).blockLast(Duration.ofSeconds(5)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getResponse().getStatusCode());
+
+        first.dispose();
+        awaitPermits(limiter, 1);
+        assertEquals(List.of("a"), limiter.limit(Flux.just("a")).collectList().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void releasesPermitWhenStreamCompletes() {
+        limiter.limit(Flux.just("a", "b")).blockLast(Duration.ofSeconds(5));
+
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void releasesPermitWhenStreamFails() {
+        assertThrows(IllegalStateException.class, () -> limiter.limit(Flux.error(new IllegalStateException()))
+                .blockLast(Duration.ofSeconds(5)));
+
+        awaitPermits(limiter, 1);
+    }
+
+    @Test
+    void releasesPermitWhenStreamIsCancelled() {
+        limiter.limit(Flux.interval(Duration.ofMillis(10))).take(1).blockLast(Duration.ofSeconds(5));
+
+        awaitPermits(limiter, 1);
+    }
+
+    static void awaitPermits(StreamLimiter limiter, int expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (limiter.availablePermits() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, limiter.availablePermits());
+    }
+}
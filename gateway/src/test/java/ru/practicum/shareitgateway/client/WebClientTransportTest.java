@@ -0,0 +1,97 @@
+package ru.practicum.shareitgateway.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareitgateway.client.MockServer.respond;
+
+class WebClientTransportTest {
+    private MockServer server;
+    private WebClientTransport transport;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockServer();
+        transport = new WebClientTransport(WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(server.url("/bookings")))
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void exchangePassesStatusBodyAndHeadersThrough() throws InterruptedException {
+        server.enqueue(respond(200, "[{\"id\":1}]", Map.of(
+                "Content-Type", "application/json",
+                "X-Next-Cursor", "abc",
+                "Keep-Alive", "timeout=5")));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, "?state={state}", headers,
+                Map.of("state", "ALL"), null).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[{\"id\":1}]", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        HttpExchange request = server.takeRequest();
+        assertEquals("/bookings?state=ALL", request.getRequestURI().toString());
+        assertEquals("7", request.getRequestHeaders().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void exchangePassesErrorResponsesThrough() {
+        server.enqueue(respond(404, "{\"error\":\"not found\"}", Map.of("Content-Type", "application/json")));
+
+        ResponseEntity<byte[]> response = transport.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null)
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamSplitsLines() {
+        server.enqueue(respond(200, "{\"id\":1}\n{\"id\":2}\n", Map.of("Content-Type", "application/x-ndjson")));
+
+        List<String> lines = transport.stream("/owner/export", new HttpHeaders()).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("{\"id\":1}\n", "{\"id\":2}\n"), lines);
+    }
+
+    @Test
+    void streamErrorCarriesServerResponse() {
+        server.enqueue(respond(404, "{\"error\":\"not found\"}", Map.of("Content-Type", "application/json")));
+
+        ServerResponseException exception = assertThrows(ServerResponseException.class,
+                () -> transport.stream("/owner/export", new HttpHeaders()).blockLast(Duration.ofSeconds(5)));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getResponse().getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String(exception.getResponse().getBody(),
+                StandardCharsets.UTF_8));
+    }
+}
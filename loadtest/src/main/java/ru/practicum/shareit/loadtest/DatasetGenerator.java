@@ -0,0 +1,223 @@
+package ru.practicum.shareit.loadtest;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+public class DatasetGenerator {
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COMMIT_SIZE = 50_000;
+    private static final int SLOT_HOURS = 72;
+    private static final String[] BOOKING_STATUSES = {"APPROVED", "APPROVED", "APPROVED", "APPROVED", "APPROVED",
+            "APPROVED", "APPROVED", "WAITING", "REJECTED", "CANCELED"};
+
+    private final DatasetSpec spec;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String migrations;
+
+    public DatasetGenerator(DatasetSpec spec, Options options) {
+        this.spec = spec;
+        this.url = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/shareit");
+        this.user = options.get("jdbc-user", "shareit");
+        this.password = options.get("jdbc-password", "shareit");
+        this.migrations = options.get("migrations", "server/src/main/resources/db/migration");
+    }
+
+    public void generate() throws SQLException {
+        migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            checkEmpty(connection);
+
+            long started = System.nanoTime();
+            insertUsers(connection);
+            insertRequests(connection);
+            int[] owners = insertItems(connection);
+            insertBookings(connection, owners);
+            insertComments(connection);
+            restartSequences(connection);
+            connection.commit();
+            System.out.printf("Датасет создан за %d с%n", (System.nanoTime() - started) / 1_000_000_000L);
+        }
+    }
+
+    private void migrate() {
+        String vendor = url.startsWith("jdbc:postgresql:") ? "postgresql" : "h2";
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("filesystem:" + migrations + "/common", "filesystem:" + migrations + "/" + vendor)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private void checkEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from users")) {
+            resultSet.next();
+            if (resultSet.getLong(1) > 0) {
+                throw new IllegalStateException("База не пуста: датасет генерируется только в пустую схему");
+            }
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into users (id, name, email) values (?, ?, ?)")) {
+            for (long id = 1; id <= spec.getUsers(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "user" + id);
+                statement.setString(3, "user" + id + "@load.test");
+                addBatch(connection, statement, id, "users");
+            }
+            flush(connection, statement, "users", spec.getUsers());
+        }
+    }
+
+    private void insertRequests(Connection connection) throws SQLException {
+        Random random = new Random(spec.getSeed() + 1);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into requests (id, description, requester, created) values (?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getRequests(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "Нужна " + adjective(random) + " " + noun(random).toLowerCase());
+                statement.setLong(3, randomUser(random));
+                statement.setTimestamp(4, Timestamp.valueOf(spec.getAnchor().minusMinutes(random.nextInt(525_600))));
+                addBatch(connection, statement, id, "requests");
+            }
+            flush(connection, statement, "requests", spec.getRequests());
+        }
+    }
+
+    private int[] insertItems(Connection connection) throws SQLException {
+        Random random = new Random(spec.getSeed() + 2);
+        int[] owners = new int[Math.toIntExact(spec.getItems() + 1)];
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into items (id, owner, name, description, available, request) values (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getItems(); id++) {
+                String noun = noun(random);
+                owners[(int) id] = (int) randomUser(random);
+                statement.setLong(1, id);
+                statement.setLong(2, owners[(int) id]);
+                statement.setString(3, noun + " " + id % 1000);
+                statement.setString(4, capitalize(adjective(random)) + " " + noun.toLowerCase() + " в хорошем состоянии");
+                statement.setBoolean(5, random.nextInt(10) > 0);
+                if (spec.getRequests() > 0 && random.nextInt(5) == 0) {
+                    statement.setLong(6, 1 + (long) (random.nextDouble() * spec.getRequests()));
+                } else {
+                    statement.setNull(6, java.sql.Types.BIGINT);
+                }
+                addBatch(connection, statement, id, "items");
+            }
+            flush(connection, statement, "items", spec.getItems());
+        }
+        return owners;
+    }
+
+    private void insertBookings(Connection connection, int[] owners) throws SQLException {
+        Random random = new Random(spec.getSeed() + 3);
+        long slots = (spec.getBookings() + spec.getItems() - 1) / Math.max(1, spec.getItems());
+        LocalDateTime firstSlot = spec.getAnchor().minusHours(slots / 2 * SLOT_HOURS);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into bookings (id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getBookings(); id++) {
+                long item = (id - 1) % spec.getItems() + 1;
+                long slot = (id - 1) / spec.getItems();
+                LocalDateTime start = firstSlot.plusHours(slot * SLOT_HOURS + random.nextInt(24));
+                long booker = randomUser(random);
+                if (booker == owners[(int) item]) {
+                    booker = booker % spec.getUsers() + 1;
+                }
+                statement.setLong(1, id);
+                statement.setTimestamp(2, Timestamp.valueOf(start));
+                statement.setTimestamp(3, Timestamp.valueOf(start.plusHours(1 + random.nextInt(47))));
+                statement.setLong(4, item);
+                statement.setLong(5, booker);
+                statement.setString(6, BOOKING_STATUSES[random.nextInt(BOOKING_STATUSES.length)]);
+                addBatch(connection, statement, id, "bookings");
+            }
+            flush(connection, statement, "bookings", spec.getBookings());
+        }
+    }
+
+    private void insertComments(Connection connection) throws SQLException {
+        Random random = new Random(spec.getSeed() + 4);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= spec.getComments(); id++) {
+                statement.setLong(1, id);
+                statement.setString(2, capitalize(adjective(random)) + " вещь, рекомендую");
+                statement.setLong(3, 1 + (long) (random.nextDouble() * spec.getItems()));
+                statement.setLong(4, randomUser(random));
+                statement.setTimestamp(5, Timestamp.valueOf(spec.getAnchor().minusMinutes(random.nextInt(525_600))));
+                addBatch(connection, statement, id, "comments");
+            }
+            flush(connection, statement, "comments", spec.getComments());
+        }
+    }
+
+    private void restartSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            restart(statement, "users_seq", spec.getUsers());
+            restart(statement, "requests_seq", spec.getRequests());
+            restart(statement, "items_seq", spec.getItems());
+            restart(statement, "bookings_seq", spec.getBookings());
+            restart(statement, "comments_seq", spec.getComments());
+        }
+    }
+
+    private void restart(Statement statement, String sequence, long lastId) throws SQLException {
+        statement.execute("alter sequence " + sequence + " restart with " + (lastId + 51));
+    }
+
+    private void addBatch(Connection connection, PreparedStatement statement, long id, String table)
+            throws SQLException {
+        statement.addBatch();
+        if (id % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+        if (id % COMMIT_SIZE == 0) {
+            connection.commit();
+            System.out.printf("%s: %d%n", table, id);
+        }
+    }
+
+    private void flush(Connection connection, PreparedStatement statement, String table, long count)
+            throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+        System.out.printf("%s: %d готово%n", table, count);
+    }
+
+    private long randomUser(Random random) {
+        return 1 + (long) (random.nextDouble() * spec.getUsers());
+    }
+
+    private String noun(Random random) {
+        return DatasetSpec.NOUNS[random.nextInt(DatasetSpec.NOUNS.length)];
+    }
+
+    private String adjective(Random random) {
+        return DatasetSpec.ADJECTIVES[random.nextInt(DatasetSpec.ADJECTIVES.length)];
+    }
+
+    private String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Value
+public class DatasetSpec {
+    public static final String[] NOUNS = {"Дрель", "Пила", "Отвертка", "Молоток", "Палатка", "Велосипед", "Лестница",
+            "Шуруповерт", "Перфоратор", "Рюкзак", "Каяк", "Проектор", "Гитара", "Самокат", "Мангал", "Стремянка"};
+    public static final String[] ADJECTIVES = {"аккумуляторная", "походная", "складная", "новая", "мощная",
+            "легкая", "профессиональная", "детская", "большая", "компактная"};
+
+    long users;
+    long items;
+    long requests;
+    long bookings;
+    long comments;
+    long seed;
+    LocalDateTime anchor;
+
+    public static DatasetSpec from(Options options) {
+        return new DatasetSpec(
+                options.getLong("users", 1_000_000),
+                options.getLong("items", 2_000_000),
+                options.getLong("requests", 500_000),
+                options.getLong("bookings", 5_000_000),
+                options.getLong("comments", 2_000_000),
+                options.getLong("seed", 42),
+                LocalDate.parse(options.get("anchor", LocalDate.now().toString())).atStartOfDay());
+    }
+}
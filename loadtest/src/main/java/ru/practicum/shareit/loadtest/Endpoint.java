@@ -0,0 +1,103 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+public enum Endpoint {
+    ITEMS("items") {
+        @Override
+        String path(Random random) {
+            return "/items?from=0&size=20";
+        }
+    },
+    SEARCH("search") {
+        @Override
+        String path(Random random) {
+            String noun = DatasetSpec.NOUNS[random.nextInt(DatasetSpec.NOUNS.length)];
+            return "/items/search?from=0&size=20&text=" + URLEncoder.encode(noun.substring(0, 4).toLowerCase(),
+                    StandardCharsets.UTF_8);
+        }
+    },
+    BOOKINGS("bookings") {
+        @Override
+        String path(Random random) {
+            return "/bookings?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)];
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings") {
+        @Override
+        String path(Random random) {
+            return "/bookings/owner?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)];
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        String path(Random random) {
+            return "/requests/all?from=" + random.nextInt(5) * 20 + "&size=20";
+        }
+    },
+    SIGNUP("signup") {
+        @Override
+        String path(Random random) {
+            return "/users";
+        }
+
+        @Override
+        String body(Random random, long users) {
+            long n = SIGNUPS.incrementAndGet();
+            return "{\"name\":\"signup" + n + "\",\"email\":\"signup-" + RUN + "-" + n + "@load.test\"}";
+        }
+    },
+    SIGNUP_TAKEN("signup-taken") {
+        @Override
+        String path(Random random) {
+            return "/users";
+        }
+
+        @Override
+        String body(Random random, long users) {
+            long id = 1 + (long) (random.nextDouble() * users);
+            return "{\"name\":\"taken" + id + "\",\"email\":\"USER" + id + "@LOAD.TEST\"}";
+        }
+
+        @Override
+        boolean accepts(int status) {
+            return status == 409;
+        }
+    };
+
+    private static final String[] STATES = {"ALL", "ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final long RUN = System.currentTimeMillis();
+    private static final AtomicLong SIGNUPS = new AtomicLong();
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    abstract String path(Random random);
+
+    String body(Random random, long users) {
+        return null;
+    }
+
+    boolean accepts(int status) {
+        return status / 100 == 2;
+    }
+
+    public static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный endpoint: " + key);
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadDriver {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String DEFAULT_SCRAPE_PREFIXES = "http_client_pool_,reactor_netty_connection_provider_," +
+            "jvm_threads_live_threads,jvm_threads_peak_threads,tomcat_threads_";
+
+    private final DatasetSpec spec;
+    private final String target;
+    private final int threads;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final long intervalNanos;
+    private final List<Endpoint> mix = new ArrayList<>();
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final AtomicLongArray errors = new AtomicLongArray(Endpoint.values().length);
+    private final HttpClient client;
+    private final List<MetricsSampler> samplers = new ArrayList<>();
+
+    public LoadDriver(DatasetSpec spec, Options options) {
+        this.spec = spec;
+        this.target = options.get("target", "http://localhost:8080");
+        this.threads = options.getInt("threads", 32);
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(options.getLong("warmup", 10));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(options.getLong("duration", 60));
+        long rate = options.getLong("rate", 0);
+        this.intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(threads) / rate : 0;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+
+        for (String weighted : options.get("mix", "items:30,search:25,bookings:20,owner-bookings:15,requests:10")
+                .split(",")) {
+            String[] parts = weighted.split(":");
+            Endpoint endpoint = Endpoint.byKey(parts[0]);
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) {
+                mix.add(endpoint);
+            }
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        }
+
+        String scrape = options.get("scrape", "");
+        List<String> prefixes = List.of(options.get("scrape-prefixes", DEFAULT_SCRAPE_PREFIXES).split(","));
+        for (String url : scrape.split(",")) {
+            if (!url.isBlank()) {
+                samplers.add(new MetricsSampler(client, url, prefixes));
+            }
+        }
+    }
+
+    public void run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        long measureFrom = started + warmupNanos;
+        long stopAt = measureFrom + durationNanos;
+
+        System.out.printf("%d потоков, прогрев %d с, замер %d с: %s%n", threads,
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos), target);
+        if (intervalNanos > 0) {
+            System.out.printf("Темп %.0f запросов/с%n", threads * 1e9 / intervalNanos);
+        }
+        samplers.forEach(sampler -> sampler.start(measureFrom));
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(spec.getSeed() * 31 + i);
+            workers.execute(() -> work(random, measureFrom, stopAt));
+        }
+        workers.shutdown();
+        workers.awaitTermination(durationNanos + warmupNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        samplers.forEach(MetricsSampler::stop);
+        report();
+        samplers.forEach(MetricsSampler::report);
+        System.exit(0);
+    }
+
+    private void work(Random random, long measureFrom, long stopAt) {
+        long planned = System.nanoTime() + (intervalNanos > 0 ? (long) (random.nextDouble() * intervalNanos) : 0);
+
+        while (System.nanoTime() < stopAt) {
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(planned - System.nanoTime());
+            }
+            Endpoint endpoint = mix.get(random.nextInt(mix.size()));
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + endpoint.path(random)))
+                    .header("X-Sharer-User-Id", String.valueOf(1 + (long) (random.nextDouble() * spec.getUsers())))
+                    .timeout(Duration.ofSeconds(30));
+            String body = endpoint.body(random, spec.getUsers());
+            HttpRequest request = body == null ? builder.GET().build() : builder
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long start = intervalNanos > 0 ? planned : System.nanoTime();
+            planned += intervalNanos;
+            boolean ok;
+            try {
+                ok = endpoint.accepts(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+
+            if (start >= measureFrom && end <= stopAt) {
+                latencies.get(endpoint).recordValue(Math.min(MAX_LATENCY_MICROS, (end - start) / 1_000));
+                if (!ok) {
+                    errors.incrementAndGet(endpoint.ordinal());
+                }
+            }
+        }
+    }
+
+    private void report() {
+        double seconds = durationNanos / 1e9;
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+
+        System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, Histogram> entry : latencies.entrySet()) {
+            total.add(entry.getValue());
+            totalErrors += errors.get(entry.getKey().ordinal());
+            print(entry.getKey().getKey(), entry.getValue(), errors.get(entry.getKey().ordinal()), seconds);
+        }
+        print("total", total, totalErrors, seconds);
+    }
+
+    private void print(String name, Histogram histogram, long errorCount, double seconds) {
+        System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(), errorCount, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private double millis(long micros) {
+        return micros / 1_000.0;
+    }
+}
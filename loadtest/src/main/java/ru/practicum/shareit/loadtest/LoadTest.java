@@ -0,0 +1,23 @@
+package ru.practicum.shareit.loadtest;
+
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Использование: generate|run [--key=value ...]");
+            System.exit(2);
+        }
+
+        Options options = Options.parse(args);
+        switch (args[0]) {
+            case "generate":
+                new DatasetGenerator(DatasetSpec.from(options), options).generate();
+                break;
+            case "run":
+                new LoadDriver(DatasetSpec.from(options), options).run();
+                break;
+            default:
+                System.err.println("Неизвестная команда: " + args[0]);
+                System.exit(2);
+        }
+    }
+}
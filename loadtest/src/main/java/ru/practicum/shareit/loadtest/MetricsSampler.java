@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsSampler {
+    private final HttpClient client;
+    private final URI target;
+    private final List<String> prefixes;
+    private final Map<String, Double> peaks = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private volatile boolean measuring;
+
+    public MetricsSampler(HttpClient client, String target, List<String> prefixes) {
+        this.client = client;
+        this.target = URI.create(target);
+        this.prefixes = prefixes;
+    }
+
+    public void start(long measureFromNanos) {
+        scheduler.scheduleAtFixedRate(() -> {
+            measuring = System.nanoTime() >= measureFromNanos;
+            sample();
+        }, 0, 1, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void report() {
+        if (peaks.isEmpty()) {
+            System.out.println("Метрики " + target + " не получены");
+            return;
+        }
+        System.out.printf("%nПики метрик за замер (%s):%n", target);
+        peaks.forEach((series, value) -> System.out.printf("%-90s %12.1f%n", series, value));
+    }
+
+    private void sample() {
+        if (!measuring) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(5)).GET().build();
+            for (String line : client.send(request, HttpResponse.BodyHandlers.ofString()).body().split("\n")) {
+                if (line.startsWith("#") || prefixes.stream().noneMatch(line::startsWith)) {
+                    continue;
+                }
+                int space = line.lastIndexOf(' ');
+                peaks.merge(line.substring(0, space), Double.parseDouble(line.substring(space + 1)), Math::max);
+            }
+        } catch (Exception e) {
+            System.err.println("Не удалось снять метрики " + target + ": " + e.getMessage());
+        }
+    }
+}
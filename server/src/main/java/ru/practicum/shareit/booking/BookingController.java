@@ -2,36 +2,66 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
+import static ru.practicum.shareit.pagination.Pagination.withNextCursor;
+
 @RestController
 @Slf4j
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsOwner(@RequestHeader("X-Sharer-User-Id") Long id,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             @RequestParam(defaultValue = "0") Integer from,
-                                             @RequestParam(defaultValue = "5") Integer size) {
+    public ResponseEntity<List<BookingView>> getBookingsOwner(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(defaultValue = "0") Integer from,
+                                                              @RequestParam(defaultValue = "5") Integer size,
+                                                              @RequestParam(required = false) String cursor,
+                                                              BookingFilter filter) {
         log.info("GET bookings with owner(userId) and state: {}, {}", id, state);
-        return bookingService.getBookingsOwner(id, state, from, size);
+        List<BookingView> bookings = cursor == null
+                ? bookingService.getBookingsOwner(id, state, filter, from, size)
+                : bookingService.getBookingsOwnerAfter(id, state, filter, cursor, size);
+        return withNextCursor(bookings, size, booking -> new PageCursor(booking.getStart(), booking.getId()));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportBookingsOwner(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                  HttpServletResponse response) {
+        log.info("GET bookings export with owner(userId): {}", id);
+        WebAsyncTask<Void> export = bookingExporter.exportOwnerBookings(id, response);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return export;
     }
 
     @GetMapping
-    public List<BookingDto> getBookingState(@RequestHeader("X-Sharer-User-Id") Long id,
-                                            @RequestParam(defaultValue = "ALL") String state,
-                                            @RequestParam(defaultValue = "0") Integer from,
-                                            @RequestParam(defaultValue = "5") Integer size) {
+    public ResponseEntity<List<BookingView>> getBookingState(@RequestHeader("X-Sharer-User-Id") Long id,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "5") Integer size,
+                                                             @RequestParam(required = false) String cursor,
+                                                             BookingFilter filter) {
         log.info("GET bookings with userId and state: {}, {}", id, state);
-        return bookingService.getBookingState(id, state, from, size);
+        List<BookingView> bookings = cursor == null
+                ? bookingService.getBookingState(id, state, filter, from, size)
+                : bookingService.getBookingStateAfter(id, state, filter, cursor, size);
+        return withNextCursor(bookings, size, booking -> new PageCursor(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/{bookingId}")
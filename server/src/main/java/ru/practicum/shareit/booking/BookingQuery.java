@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder(toBuilder = true)
+public class BookingQuery {
+    BookingRole role;
+    Long userId;
+    @Builder.Default
+    BookingState state = BookingState.ALL;
+    LocalDateTime now;
+    Long itemId;
+    LocalDateTime rangeStart;
+    LocalDateTime rangeEnd;
+    PageCursor cursor;
+    long offset;
+    int limit;
+}
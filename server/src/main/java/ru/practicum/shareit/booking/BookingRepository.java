@@ -1,108 +1,39 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerIdOrderByDesc(Long id, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "and bok.start < :start and bok.end > :end " +
-            "order by bok.id asc")
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByDesc(Long id,
-                                                                        LocalDateTime start,
-                                                                        LocalDateTime end,
-                                                                        Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "and bok.end < :end " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerIdAndEndIsBeforeOrderByDesc(Long id, LocalDateTime end, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "and bok.start > :now " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long id, LocalDateTime now, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "and (bok.status like :status) " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerIdAndBookerStatusWaitingOrderByDesc(Long id, BookingStatus status, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.booker.id = :id " +
-            "and (bok.status like :status) " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerIdAndBookerStatusRejectedOrderByDesc(Long id, BookingStatus status, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerOwnerIdOrderByDesc(Long id, Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "and bok.start < :start and bok.end > :end " +
-            "order by bok.id asc")
-    List<Booking> findAllByBookerOwnerIdAndStartBeforeAndEndAfterOrderByDesc(Long id,
-                                                                             LocalDateTime start,
-                                                                             LocalDateTime end,
-                                                                             Pageable pageable);
-
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "and bok.end < :end " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerOwnerIdAndEndBeforeOrderByDesc(Long id, LocalDateTime end, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    @Query("select bok " +
-            "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "and bok.start > :now " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerOwnerIdAndBookerStartAfterOrderByDesc(Long id, LocalDateTime now, Pageable pageable);
-
-    @Query("select bok " +
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.booking.dto.BookingView(" +
+            "bok.id, bok.start, bok.end, bok.status, i.id, i.name, b.id, b.name) " +
             "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "and bok.status like :status " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerOwnerIdAndBookerStatusWaitingOrderByDesc(Long id,
-                                                                          BookingStatus status,
-                                                                          Pageable pageable);
+            "join bok.item as i " +
+            "join bok.booker as b " +
+            "where i.owner.id = :ownerId " +
+            "order by bok.start desc, bok.id desc")
+    Stream<BookingView> streamAllByOwnerId(Long ownerId);
 
     @Query("select bok " +
             "from Booking as bok " +
-            "where bok.item.owner.id = :id " +
-            "and (bok.status like :status) " +
-            "order by bok.start desc")
-    List<Booking> findAllByBookerOwnerIdAndBookerStatusRejectedOrderByDesc(Long id,
-                                                                           BookingStatus status,
-                                                                           Pageable pageable);
+            "join fetch bok.item " +
+            "join fetch bok.booker " +
+            "where bok.id = :id")
+    Optional<Booking> findWithItemAndBookerById(Long id);
 
     @Query(value = "select * " +
             "from Bookings as bok " +
@@ -122,6 +53,43 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "limit 1", nativeQuery = true)
     Optional<Booking> getLastBookingForItem(Long itemId, LocalDateTime now);
 
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status " +
+            "from (select bok.*, " +
+            "row_number() over (partition by bok.item_id order by bok.start_date asc) as rn " +
+            "from bookings as bok " +
+            "where bok.item_id in (:itemIds) " +
+            "and bok.start_date > :now " +
+            "and bok.status = 'APPROVED') as b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<Booking> getNextBookingsForItems(List<Long> itemIds, LocalDateTime now);
+
+    @Query(value = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status " +
+            "from (select bok.*, " +
+            "row_number() over (partition by bok.item_id order by bok.start_date desc) as rn " +
+            "from bookings as bok " +
+            "where bok.item_id in (:itemIds) " +
+            "and bok.start_date < :now " +
+            "and bok.status = 'APPROVED') as b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<Booking> getLastBookingsForItems(List<Long> itemIds, LocalDateTime now);
+
+    @Query("select case when count(bok) > 0 then true else false end " +
+            "from Booking as bok " +
+            "where bok.item.id = :itemId " +
+            "and bok.status = :status " +
+            "and bok.start < :end " +
+            "and bok.end > :start")
+    boolean existsOverlapping(Long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
+
+    @Query("select bok " +
+            "from Booking as bok " +
+            "where bok.item.id = :itemId " +
+            "and bok.status = :status " +
+            "and bok.end > :from " +
+            "and bok.start < :to " +
+            "order by bok.start asc")
+    List<Booking> findInWindow(Long itemId, BookingStatus status, LocalDateTime from, LocalDateTime to);
+
     @Query(value = "select bok.status " +
             "from bookings as bok " +
             "where bok.id = :bookerId and " +
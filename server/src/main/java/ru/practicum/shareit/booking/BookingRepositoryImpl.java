@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findBookings(BookingQuery query) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> criteria = builder.createQuery(BookingView.class);
+        Root<Booking> root = criteria.from(Booking.class);
+        Join<Booking, Item> item = root.join("item");
+        Join<Booking, User> booker = root.join("booker");
+        Path<LocalDateTime> start = root.get("start");
+        Path<LocalDateTime> end = root.get("end");
+        Path<Long> id = root.get("id");
+        Parameters parameters = new Parameters(builder);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Path<Long> userId = query.getRole() == BookingRole.OWNER
+                ? item.get("owner").get("id")
+                : root.get("booker").get("id");
+        predicates.add(builder.equal(userId, parameters.of(Long.class, query.getUserId())));
+
+        switch (query.getState()) {
+            case CURRENT:
+                predicates.add(builder.lessThan(start, parameters.of(LocalDateTime.class, query.getNow())));
+                predicates.add(builder.greaterThan(end, parameters.of(LocalDateTime.class, query.getNow())));
+                break;
+            case PAST:
+                predicates.add(builder.lessThan(end, parameters.of(LocalDateTime.class, query.getNow())));
+                break;
+            case FUTURE:
+                predicates.add(builder.greaterThan(start, parameters.of(LocalDateTime.class, query.getNow())));
+                break;
+            case WAITING:
+                predicates.add(builder.equal(root.get("status"),
+                        parameters.of(BookingStatus.class, BookingStatus.WAITING)));
+                break;
+            case REJECTED:
+                predicates.add(builder.equal(root.get("status"),
+                        parameters.of(BookingStatus.class, BookingStatus.REJECTED)));
+                break;
+            default:
+                break;
+        }
+
+        if (query.getItemId() != null) {
+            predicates.add(builder.equal(root.get("item").get("id"), parameters.of(Long.class, query.getItemId())));
+        }
+        if (query.getRangeStart() != null) {
+            predicates.add(builder.greaterThan(end, parameters.of(LocalDateTime.class, query.getRangeStart())));
+        }
+        if (query.getRangeEnd() != null) {
+            predicates.add(builder.lessThan(start, parameters.of(LocalDateTime.class, query.getRangeEnd())));
+        }
+
+        PageCursor cursor = query.getCursor();
+
+        if (cursor != null) {
+            ParameterExpression<LocalDateTime> time = parameters.of(LocalDateTime.class, cursor.getTime());
+            predicates.add(builder.or(builder.lessThan(start, time), builder.and(builder.equal(start, time),
+                    builder.lessThan(id, parameters.of(Long.class, cursor.getId())))));
+        }
+        criteria.orderBy(builder.desc(start), builder.desc(id));
+
+        criteria.select(builder.construct(BookingView.class, id, start, end, root.get("status"),
+                        item.get("id"), item.get("name"), booker.get("id"), booker.get("name")))
+                .where(predicates.toArray(new Predicate[0]));
+
+        TypedQuery<BookingView> typedQuery = entityManager.createQuery(criteria);
+        parameters.bind(typedQuery);
+        return typedQuery
+                .setFirstResult((int) query.getOffset())
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+
+    @RequiredArgsConstructor
+    private static class Parameters {
+        private final CriteriaBuilder builder;
+        private final List<Consumer<TypedQuery<?>>> values = new ArrayList<>();
+
+        <T> ParameterExpression<T> of(Class<T> type, T value) {
+            ParameterExpression<T> parameter = builder.parameter(type);
+            values.add(query -> query.setParameter(parameter, value));
+            return parameter;
+        }
+
+        void bind(TypedQuery<?> query) {
+            values.forEach(value -> value.accept(query));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Value
+@AllArgsConstructor
+public class BookingView {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+    Ref item;
+    Ref booker;
+
+    public BookingView(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                       Long itemId, String itemName, Long bookerId, String bookerName) {
+        this(id, start, end, status, new Ref(itemId, itemName), new Ref(bookerId, bookerName));
+    }
+
+    @Value
+    public static class Ref {
+        Long id;
+        String name;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ServiceUnavailableException;
+import ru.practicum.shareit.index.IdIndex;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Component
+public class BookingExporter {
+    private static final char NEW_LINE = '\n';
+
+    private final BookingRepository bookingRepository;
+    private final IdIndex idIndex;
+    private final ObjectWriter writer;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor exportExecutor;
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public BookingExporter(BookingRepository bookingRepository,
+                           IdIndex idIndex,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${shareit.export.max-concurrent:4}") int maxConcurrent,
+                           @Value("${shareit.export.timeout:1h}") Duration timeout) {
+        this.bookingRepository = bookingRepository;
+        this.idIndex = idIndex;
+        this.writer = objectMapper.writerFor(BookingView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.exportExecutor = exportExecutor(maxConcurrent);
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdown();
+    }
+
+    public WebAsyncTask<Void> exportOwnerBookings(Long ownerId, HttpServletResponse response) {
+        if (!idIndex.userExists(ownerId)) {
+            throw new NotFoundException("Данного юзера не существует (Booking.export)");
+        }
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Слишком много одновременных выгрузок (Booking.export)");
+        }
+
+        StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> write(ownerId, out));
+        AtomicBoolean claimed = new AtomicBoolean();
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeout.toMillis(), exportExecutor, () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                OutputStream out = response.getOutputStream();
+                body.writeTo(out);
+                out.flush();
+                return null;
+            } finally {
+                permits.release();
+            }
+        });
+        task.onCompletion(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        });
+        return task;
+    }
+
+    private void write(Long ownerId, OutputStream out) {
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(ownerId)) {
+            JsonGenerator generator = writer.createGenerator(out);
+            generator.setRootValueSeparator(null);
+            bookings.forEach(booking -> {
+                try {
+                    writer.writeValue(generator, booking);
+                    generator.writeRaw(NEW_LINE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ThreadPoolTaskExecutor exportExecutor(int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(maxConcurrent);
+        executor.setThreadNamePrefix("booking-export-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.index.IdIndexListener;
+import ru.practicum.shareit.item.cache.ItemCacheListener;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,12 +15,15 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@EntityListeners({IdIndexListener.class, ItemCacheListener.class})
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "bookings")
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 public class Booking {
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date")
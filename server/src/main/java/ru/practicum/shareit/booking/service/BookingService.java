@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
 
 import java.util.List;
 
@@ -12,11 +14,11 @@ public interface BookingService {
 
     BookingDto getBooking(Long userId, Long id);
 
-    List<BookingDto> getBookingsOwner(Long id, String state, Integer from, Integer size);
+    List<BookingView> getBookingsOwner(Long id, String state, BookingFilter filter, Integer from, Integer size);
 
-    List<BookingDto> getBookingState(Long id, String state, Integer from, Integer size);
+    List<BookingView> getBookingState(Long id, String state, BookingFilter filter, Integer from, Integer size);
 
-    Long returnId();
+    List<BookingView> getBookingsOwnerAfter(Long id, String state, BookingFilter filter, String cursor, Integer size);
 
-    void setId(Long id);
+    List<BookingView> getBookingStateAfter(Long id, String state, BookingFilter filter, String cursor, Integer size);
 }
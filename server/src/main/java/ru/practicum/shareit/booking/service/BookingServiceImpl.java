@@ -1,57 +1,62 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingQuery;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.Service.ItemServiceImpl;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.Service.UserServiceImpl;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static ru.practicum.shareit.booking.mapper.BookingMapper.listToBookingDto;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.makeBookingDto;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final UserServiceImpl userService;
-    private final ItemServiceImpl itemService;
-
-    Long id = 0L;
+    private final IdIndex idIndex;
 
     @Transactional
     @Override
     public BookingDto createBooking(Long userId, BookingEntity bookingEntity) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Данного юзера не существует (Booking.create)");
         }
 
-        User user = userRepository.getById(userId);
-
-        if (bookingEntity.getItemId() > itemService.returnId()) {
+        if (!idIndex.itemExists(bookingEntity.getItemId())) {
             throw new NotFoundException("Данной вещи не существует (Booking.create)");
         }
 
-        Item item = itemRepository.getById(bookingEntity.getItemId());
+        User user = userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Данного юзера не существует (Booking.create)"));
+        Item item = itemRepository.findByIdForUpdate(bookingEntity.getItemId()).orElseThrow(() ->
+                new NotFoundException("Данной вещи не существует (Booking.create)"));
 
         if (userId.equals(item.getOwner().getId())) {
             throw new NotFoundException("Пользователь является собственником вещи (Booking.create)");
@@ -66,23 +71,30 @@ public class BookingServiceImpl implements BookingService {
                 bookingEntity.getEnd().equals(bookingEntity.getStart())) {
             throw new BadRequestException("Время окончания бронирования указано не верно (Booking.create)");
         }
+        if (bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED, bookingEntity.getStart(),
+                bookingEntity.getEnd())) {
+            throw new ConflictException("Вещь уже забронирована на это время (Booking.create)");
+        }
 
         Booking booking = new Booking();
         booking.setBooker(user);
-        booking.setId(makeId());
         booking.setItem(item);
         booking.setStart(bookingEntity.getStart());
         booking.setEnd(bookingEntity.getEnd());
         booking.setStatus(BookingStatus.WAITING);
-        BookingDto bookingDto = makeBookingDto(booking);
         bookingRepository.save(booking);
-        return bookingDto;
+        return makeBookingDto(booking);
     }
 
     @Transactional
     @Override
     public BookingDto bookingStatus(Long userId, Long bookingId, Boolean approve) {
-        Booking booking = bookingRepository.getById(bookingId);
+        if (!idIndex.bookingExists(bookingId)) {
+            throw new NotFoundException("Данная бронь отсутствует(Booking.status)");
+        }
+
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
+                new NotFoundException("Данная бронь отсутствует(Booking.status)"));
 
         if (!booking.getItem().getOwner().getId().equals(userId)) {
             throw new NotFoundException("Подтверждать статус имеет права только собственник вещи(Booking.status)");
@@ -91,26 +103,35 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Статус уже подтвержден(Booking.status)");
         }
         if (approve) {
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+
+            if (bookingRepository.existsOverlapping(booking.getItem().getId(), BookingStatus.APPROVED,
+                    booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Вещь уже забронирована на это время (Booking.status)");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
 
-        bookingRepository.save(booking);
+        saveAdmitted(booking);
         return makeBookingDto(booking);
     }
 
     @Override
     @Transactional
     public BookingDto getBooking(Long userId, Long bookerId) {
-        Booking booking = bookingRepository.getById(bookerId);
-
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Данного юзера не существует (Booking.create)");
         }
-        if (bookerId > returnId()) {
+
+        if (!idIndex.bookingExists(bookerId)) {
             throw new NotFoundException("Данная бронь отсутствует(Booking.get)");
         }
+
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookerId).orElseThrow(() ->
+                new NotFoundException("Данная бронь отсутствует(Booking.get)"));
+
         if (!booking.getItem().getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
             throw new NotFoundException("Вы не являетесь собственником");
         }
@@ -119,88 +140,82 @@ public class BookingServiceImpl implements BookingService {
 
     @Transactional
     @Override
-    public List<BookingDto> getBookingsOwner(Long userId, String state, Integer from, Integer size) {
-        if (userId > userService.returnId()) {
-            throw new NotFoundException("Данного юзера не существует (Booking.create)");
-        }
-
-        int page = from >= 0 ? Math.round((float) from / size) : -1;
-        Pageable pageable = PageRequest.of(page, size).withSort(Sort.by("id").descending());
+    public List<BookingView> getBookingsOwner(Long userId, String state, BookingFilter filter, Integer from,
+                                              Integer size) {
+        return findBookings(BookingRole.OWNER, userId, state, filter, null, from, size);
+    }
 
-        BookingState bookingState = BookingState.valueOf(state);
+    @Transactional
+    @Override
+    public List<BookingView> getBookingState(Long userId, String state, BookingFilter filter, Integer from,
+                                             Integer size) {
+        return findBookings(BookingRole.BOOKER, userId, state, filter, null, from, size);
+    }
 
-        switch (bookingState) {
-            case ALL:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdOrderByDesc(userId, pageable));
-            case CURRENT:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdAndStartBeforeAndEndAfterOrderByDesc(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-            case PAST:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdAndEndBeforeOrderByDesc(userId,
-                        LocalDateTime.now(), pageable));
-            case FUTURE:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdAndBookerStartAfterOrderByDesc(userId,
-                        LocalDateTime.now(), pageable));
-            case WAITING:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdAndBookerStatusWaitingOrderByDesc(
-                        userId, BookingStatus.WAITING, pageable));
-            case REJECTED:
-                return listToBookingDto(bookingRepository.findAllByBookerOwnerIdAndBookerStatusRejectedOrderByDesc(
-                        userId, BookingStatus.REJECTED, pageable));
-            case UNSUPPORTED_STATUS:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return null;
+    @Transactional
+    @Override
+    public List<BookingView> getBookingsOwnerAfter(Long userId, String state, BookingFilter filter, String cursor,
+                                                   Integer size) {
+        return findBookings(BookingRole.OWNER, userId, state, filter, cursor, 0, size);
     }
 
     @Transactional
     @Override
-    public List<BookingDto> getBookingState(Long userId, String state, Integer from, Integer size) {
-        if (userId > userService.returnId()) {
+    public List<BookingView> getBookingStateAfter(Long userId, String state, BookingFilter filter, String cursor,
+                                                  Integer size) {
+        return findBookings(BookingRole.BOOKER, userId, state, filter, cursor, 0, size);
+    }
+
+    private List<BookingView> findBookings(BookingRole role, Long userId, String state, BookingFilter filter,
+                                           String cursor, Integer from, Integer size) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Данного юзера не существует (Booking.create)");
         }
+        if (filter.getRangeStart() != null && filter.getRangeEnd() != null &&
+                !filter.getRangeStart().isBefore(filter.getRangeEnd())) {
+            throw new BadRequestException("Интервал бронирований указан не верно (Booking.get)");
+        }
 
-        int page = from >= 0 ? Math.round((float) from / size) : -1;
-        Pageable pageable = PageRequest.of(page, size).withSort(Sort.by("id").descending());
-
-        BookingState bookingState = BookingState.valueOf(state);
-
-        switch (bookingState) {
-            case ALL:
-                return listToBookingDto(bookingRepository.findAllByBookerIdOrderByDesc(userId, pageable));
-            case CURRENT:
-                return listToBookingDto(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByDesc(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageable));
-            case PAST:
-                return listToBookingDto(bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByDesc(userId,
-                        LocalDateTime.now(), pageable));
-            case FUTURE:
-                return listToBookingDto(bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(userId,
-                        LocalDateTime.now(), pageable));
-            case WAITING:
-                return listToBookingDto(bookingRepository.findAllByBookerIdAndBookerStatusWaitingOrderByDesc(userId,
-                        BookingStatus.WAITING, pageable));
-            case REJECTED:
-                return listToBookingDto(bookingRepository.findAllByBookerIdAndBookerStatusRejectedOrderByDesc(userId,
-                        BookingStatus.REJECTED, pageable));
-            case UNSUPPORTED_STATUS:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
-        }
-        return null;
+        Pageable pageable = Pagination.offset(from, size, Sort.unsorted());
+        BookingState bookingState = checkState(state);
+
+        return bookingRepository.findBookings(BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(bookingState)
+                .now(LocalDateTime.now())
+                .itemId(filter.getItemId())
+                .rangeStart(filter.getRangeStart())
+                .rangeEnd(filter.getRangeEnd())
+                .cursor(cursor == null ? null : decodeCursor(cursor))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .build());
     }
 
-    @Override
-    public Long returnId() {
-        return id;
+    private void saveAdmitted(Booking booking) {
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Вещь уже забронирована на это время (Booking.status)");
+        }
     }
 
-    @Override
-    public void setId(Long id) {
-        this.id = id;
+    private BookingState checkState(String state) {
+        BookingState bookingState = BookingState.valueOf(state);
+
+        if (bookingState == BookingState.UNSUPPORTED_STATUS) {
+            throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        return bookingState;
     }
 
-    private Long makeId() {
-        id += 1;
-        return id;
+    private PageCursor decodeCursor(String cursor) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        if (pageCursor.getTime() == null) {
+            throw new BadRequestException("Некорректный cursor");
+        }
+        return pageCursor;
     }
 }
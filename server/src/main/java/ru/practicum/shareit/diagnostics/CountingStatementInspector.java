@@ -0,0 +1,11 @@
+package ru.practicum.shareit.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class CountingStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.increment();
+        return sql;
+    }
+}
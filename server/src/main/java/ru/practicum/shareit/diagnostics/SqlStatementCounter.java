@@ -0,0 +1,34 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class SqlStatementCounter {
+    private static final ThreadLocal<long[]> STATEMENTS = new ThreadLocal<>();
+
+    public static void start() {
+        STATEMENTS.set(new long[1]);
+    }
+
+    public static long stop() {
+        long count = count();
+        STATEMENTS.remove();
+        return count;
+    }
+
+    public static long count() {
+        long[] counter = STATEMENTS.get();
+        return counter == null ? 0 : counter[0];
+    }
+
+    public static boolean isActive() {
+        return STATEMENTS.get() != null;
+    }
+
+    static void increment() {
+        long[] counter = STATEMENTS.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.index;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+public class IdBitmap {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Roaring64Bitmap bitmap = new Roaring64Bitmap();
+    private Roaring64Bitmap addedDuringReload;
+    private Roaring64Bitmap removedDuringReload;
+
+    public boolean contains(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            return bitmap.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long id) {
+        if (id == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            bitmap.addLong(id);
+            if (addedDuringReload != null) {
+                removedDuringReload.removeLong(id);
+                addedDuringReload.addLong(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<Long> ids) {
+        Roaring64Bitmap loaded = toBitmap(ids);
+
+        lock.writeLock().lock();
+        try {
+            bitmap.or(loaded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public synchronized void reload(Supplier<Collection<Long>> loader) {
+        lock.writeLock().lock();
+        try {
+            addedDuringReload = new Roaring64Bitmap();
+            removedDuringReload = new Roaring64Bitmap();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Roaring64Bitmap loaded = null;
+        try {
+            loaded = toBitmap(loader.get());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded != null) {
+                    loaded.or(addedDuringReload);
+                    loaded.andNot(removedDuringReload);
+                    bitmap = loaded;
+                }
+                addedDuringReload = null;
+                removedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            bitmap.removeLong(id);
+            if (addedDuringReload != null) {
+                addedDuringReload.removeLong(id);
+                removedDuringReload.addLong(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return bitmap.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Roaring64Bitmap toBitmap(Collection<Long> ids) {
+        Roaring64Bitmap loaded = new Roaring64Bitmap();
+
+        for (Long id : ids) {
+            loaded.addLong(id);
+        }
+        loaded.runOptimize();
+        return loaded;
+    }
+}
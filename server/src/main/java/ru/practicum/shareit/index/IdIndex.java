@@ -0,0 +1,210 @@
+package ru.practicum.shareit.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class IdIndex {
+    private final IdBitmap users = new IdBitmap();
+    private final IdBitmap items = new IdBitmap();
+    private final IdBitmap requests = new IdBitmap();
+    private final IdBitmap bookings = new IdBitmap();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PostConstruct
+    public void load() {
+        refresh();
+        log.info("Индекс id загружен: users {}, items {}, requests {}, bookings {}", users.size(), items.size(),
+                requests.size(), bookings.size());
+    }
+
+    public void refresh() {
+        reload(users, User.class);
+        reload(items, Item.class);
+        reload(requests, ItemRequest.class);
+        reload(bookings, Booking.class);
+    }
+
+    public boolean userExists(Long id) {
+        return exists(users, User.class, id);
+    }
+
+    public boolean itemExists(Long id) {
+        return exists(items, Item.class, id);
+    }
+
+    public boolean requestExists(Long id) {
+        return exists(requests, ItemRequest.class, id);
+    }
+
+    public boolean bookingExists(Long id) {
+        return exists(bookings, Booking.class, id);
+    }
+
+    public void add(Object entity) {
+        IdBitmap bitmap = bitmapOf(entity);
+        if (bitmap != null) {
+            Long id = idOf(entity);
+            PendingIds pending = pending(true);
+            if (pending == null) {
+                bitmap.add(id);
+            } else {
+                pending.add(bitmap, id);
+            }
+        }
+    }
+
+    public void remove(Object entity) {
+        IdBitmap bitmap = bitmapOf(entity);
+        if (bitmap != null) {
+            Long id = idOf(entity);
+            PendingIds pending = pending(true);
+            if (pending == null) {
+                bitmap.remove(id);
+            } else {
+                pending.remove(bitmap, id);
+            }
+        }
+    }
+
+    private IdBitmap bitmapOf(Object entity) {
+        if (entity instanceof User) {
+            return users;
+        } else if (entity instanceof Item) {
+            return items;
+        } else if (entity instanceof ItemRequest) {
+            return requests;
+        } else if (entity instanceof Booking) {
+            return bookings;
+        }
+        return null;
+    }
+
+    private Long idOf(Object entity) {
+        if (entity instanceof User) {
+            return ((User) entity).getId();
+        } else if (entity instanceof Item) {
+            return ((Item) entity).getId();
+        } else if (entity instanceof ItemRequest) {
+            return ((ItemRequest) entity).getId();
+        }
+        return ((Booking) entity).getId();
+    }
+
+    private boolean exists(IdBitmap bitmap, Class<?> type, Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        Boolean own = pendingExists(bitmap, id);
+        if (own != null) {
+            return own;
+        }
+        if (bitmap.contains(id)) {
+            return true;
+        }
+
+        boolean stored = !entityManager.createQuery("select e.id from " + type.getSimpleName() + " e " +
+                        "where e.id = :id", Long.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+
+        own = pendingExists(bitmap, id);
+        if (own != null) {
+            return own;
+        }
+        if (stored) {
+            bitmap.add(id);
+        }
+        return stored;
+    }
+
+    private Boolean pendingExists(IdBitmap bitmap, Long id) {
+        PendingIds pending = pending(false);
+        return pending == null ? null : pending.exists(bitmap, id);
+    }
+
+    private PendingIds pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        PendingIds pending = (PendingIds) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            PendingIds created = new PendingIds();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.apply();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IdIndex.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void reload(IdBitmap bitmap, Class<?> type) {
+        bitmap.reload(() -> entityManager.createQuery("select e.id from " + type.getSimpleName() + " e", Long.class)
+                .getResultList());
+        log.debug("Индекс {} загружен: {} id", type.getSimpleName(), bitmap.size());
+    }
+
+    private static class PendingIds {
+        private final Map<IdBitmap, Set<Long>> added = new HashMap<>();
+        private final Map<IdBitmap, Set<Long>> removed = new HashMap<>();
+
+        void add(IdBitmap bitmap, Long id) {
+            idsOf(removed, bitmap).remove(id);
+            idsOf(added, bitmap).add(id);
+        }
+
+        void remove(IdBitmap bitmap, Long id) {
+            idsOf(added, bitmap).remove(id);
+            idsOf(removed, bitmap).add(id);
+        }
+
+        Boolean exists(IdBitmap bitmap, Long id) {
+            if (added.getOrDefault(bitmap, Set.of()).contains(id)) {
+                return true;
+            }
+            if (removed.getOrDefault(bitmap, Set.of()).contains(id)) {
+                return false;
+            }
+            return null;
+        }
+
+        void apply() {
+            added.forEach((bitmap, ids) -> ids.forEach(bitmap::add));
+            removed.forEach((bitmap, ids) -> ids.forEach(bitmap::remove));
+        }
+
+        private static Set<Long> idsOf(Map<IdBitmap, Set<Long>> changes, IdBitmap bitmap) {
+            return changes.computeIfAbsent(bitmap, key -> new HashSet<>());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+
+@RequiredArgsConstructor
+public class IdIndexListener {
+    private final ObjectProvider<IdIndex> idIndex;
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        idIndex.ifAvailable(index -> index.add(entity));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        idIndex.ifAvailable(index -> index.remove(entity));
+    }
+}
@@ -2,13 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.Service.ItemService;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.pagination.Pagination.withNextCursor;
+
 @RestController
 @Slf4j
 @RequestMapping("/items")
@@ -17,11 +24,15 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    public List<ItemDto> getItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                  @RequestParam(defaultValue = "0") Integer from,
-                                  @RequestParam(defaultValue = "10") Integer size) {
+    public ResponseEntity<List<ItemDto>> getItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  @RequestParam(required = false) String cursor) {
         log.info("GET items with userId: {}", userId);
-        return itemService.getItems(userId, from, size);
+        List<ItemDto> items = cursor == null
+                ? itemService.getItems(userId, from, size)
+                : itemService.getItemsAfter(userId, cursor, size);
+        return withNextCursor(items, size, item -> new PageCursor(null, item.getId()));
     }
 
     @GetMapping("/search")
@@ -39,6 +50,17 @@ public class ItemController {
         return itemService.getItemById(userId, id);
     }
 
+    @GetMapping("/{id}/availability")
+    public List<AvailabilityDto> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @PathVariable Long id,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime to) {
+        log.info("GET item availability with userId and itemId: {}, {}, {} - {}", userId, id, from, to);
+        return itemService.getAvailability(id, from, to);
+    }
+
     @PostMapping
     public ItemDto createItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @RequestBody ItemDto itemDto) {
@@ -46,6 +68,13 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                     @RequestBody List<ItemDto> itemDtos) {
+        log.info("POST items batch with userId and size: {}, {}", userId, itemDtos.size());
+        return itemService.createItems(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@RequestBody CommentDto commentDto,
                                     @RequestHeader("X-Sharer-User-Id") Long userId,
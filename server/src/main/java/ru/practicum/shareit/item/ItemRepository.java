@@ -2,14 +2,23 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select it " +
+            "from Item as it " +
+            "where it.id = :id")
+    Optional<Item> findByIdForUpdate(Long id);
+
     @Query("select it " +
             "from Item as it " +
             "order by it.id asc")
@@ -21,8 +30,28 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "order by it.id asc")
     List<Item> findAllItemWhereOwner(Long userId, Pageable pageable);
 
+    @Query("select it " +
+            "from Item as it " +
+            "where it.owner.id = :userId " +
+            "and it.id > :id " +
+            "order by it.id asc")
+    List<Item> findAllItemWhereOwnerAfter(Long userId, Long id, Pageable pageable);
+
     @Query("select it " +
             "from Item as it " +
             "where it.requestId.id = :itemRequestId")
     List<Item> findAllItemWhereRequester(Long itemRequestId);
+
+    @Query("select it " +
+            "from Item as it " +
+            "where it.requestId.id in (:itemRequestIds)")
+    List<Item> findAllItemWhereRequesterIn(List<Long> itemRequestIds);
+
+    @Query("select it " +
+            "from Item as it " +
+            "where it.available = true " +
+            "and (lower(it.name) like :pattern escape '\\' " +
+            "or lower(it.description) like :pattern escape '\\') " +
+            "order by case when lower(it.name) like :pattern escape '\\' then 0 else 1 end, it.id desc")
+    List<Item> searchAvailable(String pattern, Pageable pageable);
 }
@@ -1,26 +1,30 @@
 package ru.practicum.shareit.item.Service;
 
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     List<ItemDto> getItems(Long userId, Integer from, Integer size);
 
+    List<ItemDto> getItemsAfter(Long userId, String cursor, Integer size);
+
     ItemDto getItemById(Long userId, Long itemId);
 
     List<ItemDto> getItemsText(String text, Integer from, Integer size);
 
+    List<AvailabilityDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
     ItemDto createItem(Long userId, ItemDto itemDto);
 
+    List<ItemDto> createItems(Long userId, List<ItemDto> itemDtos);
+
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId);
 
     ItemDto updateItemById(Long userId, Long id, ItemDto item) throws CloneNotSupportedException;
 
     void deleteItemById(Long id);
-
-    Long returnId();
-
-    void setId(Long id);
 }
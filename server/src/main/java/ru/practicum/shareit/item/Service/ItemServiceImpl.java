@@ -1,7 +1,7 @@
 package ru.practicum.shareit.item.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -12,12 +12,19 @@ import ru.practicum.shareit.booking.dto.BookingItemEntity;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.cache.CachedItem;
+import ru.practicum.shareit.item.cache.ItemCache;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.Service.UserService;
@@ -26,15 +33,19 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.booking.mapper.BookingMapper.makeBookingItemEntity;
 import static ru.practicum.shareit.item.comment.CommentMapper.makeCommentDto;
 import static ru.practicum.shareit.item.comment.CommentMapper.makeCommentDtoList;
+import static ru.practicum.shareit.item.mapper.ItemMapper.listToItemDto;
 import static ru.practicum.shareit.item.mapper.ItemMapper.makeItem;
 import static ru.practicum.shareit.item.mapper.ItemMapper.makeItemDto;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final UserService userService;
@@ -43,37 +54,59 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
-
-    private Long id = 0L;
-    private Long commentId = 0L;
+    private final IdIndex idIndex;
+    private final ItemSearch itemSearch;
+    private final ItemCache itemCache;
 
     @Transactional
     @Override
     public List<ItemDto> getItems(Long userId, Integer from, Integer size) {
+        Pageable pageable = Pagination.offset(from, size, Sort.by("id").descending());
+        return makeOwnerItemDtos(itemRepository.findAllItemWhereOwner(userId, pageable));
+    }
+
+    @Transactional
+    @Override
+    public List<ItemDto> getItemsAfter(Long userId, String cursor, Integer size) {
+        Pageable pageable = Pagination.first(size, Sort.unsorted());
+        return makeOwnerItemDtos(itemRepository.findAllItemWhereOwnerAfter(userId, PageCursor.decode(cursor).getId(),
+                pageable));
+    }
+
+    private List<ItemDto> makeOwnerItemDtos(List<Item> items) {
         List<ItemDto> itemList = new ArrayList<>();
-        ItemDto itemDto;
-        Booking next;
-        Booking last;
-
-        int page = Math.round((float) from / size);
-        Pageable pageable = PageRequest.of(page, size).withSort(Sort.by("id").descending());
-
-        for (Item it : itemRepository.findAllItemWhereOwner(userId, pageable)) {
-            itemDto = makeItemDto(it);
-            next = bookingRepository.getNextBookingForItem(it.getId(), LocalDateTime.now()).orElse(null);
-            last = bookingRepository.getLastBookingForItem(it.getId(), LocalDateTime.now()).orElse(null);
-            if (next != null) {
-                itemDto.setNextBooking(makeBookingItemEntity(next));
-            } else {
-                itemDto.setNextBooking(null);
+
+        if (items.isEmpty()) {
+            return itemList;
+        }
+
+        List<Long> itemIds = new ArrayList<>();
+
+        for (Item it : items) {
+            itemIds.add(it.getId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> next = groupBookingsByItem(bookingRepository.getNextBookingsForItems(itemIds, now));
+        Map<Long, Booking> last = groupBookingsByItem(bookingRepository.getLastBookingsForItems(itemIds, now));
+        Map<Long, List<CommentDto>> comments = new HashMap<>();
+
+        for (Comment comment : commentRepository.getCommentsForItems(itemIds)) {
+            comments.computeIfAbsent(comment.getItem().getId(), key -> new ArrayList<>())
+                    .add(makeCommentDto(comment));
+        }
+
+        for (Item it : items) {
+            ItemDto itemDto = makeItemDto(it);
+
+            if (next.containsKey(it.getId())) {
+                itemDto.setNextBooking(makeBookingItemEntity(next.get(it.getId())));
             }
-            if (last != null) {
-                itemDto.setLastBooking(makeBookingItemEntity(last));
-            } else {
-                itemDto.setLastBooking(null);
+            if (last.containsKey(it.getId())) {
+                itemDto.setLastBooking(makeBookingItemEntity(last.get(it.getId())));
             }
 
-            itemDto.setComments(makeCommentDtoList(commentRepository.getCommentsForItem(itemDto.getId())));
+            itemDto.setComments(comments.getOrDefault(it.getId(), new ArrayList<>()));
             itemList.add(itemDto);
         }
         return itemList;
@@ -82,27 +115,46 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public ItemDto getItemById(Long userId, Long itemId) {
-        Item item;
-
-        if (itemId <= returnId()) {
-            item = itemRepository.getById(itemId);
-        } else {
+        if (!idIndex.itemExists(itemId)) {
             throw new NotFoundException("Заданного Item id не существует");
         }
 
+        Long ownerId = itemCache.ownerOf(itemId);
+        Item loaded = null;
+
+        if (ownerId == null) {
+            loaded = findItem(itemId);
+            ownerId = loaded.getOwner().getId();
+        }
+
+        boolean ownerView = ownerId.equals(userId);
+        Item item = loaded;
+        return itemCache.get(itemId, ownerView, () -> loadItem(item == null ? findItem(itemId) : item, ownerView))
+                .getItem();
+    }
+
+    private Item findItem(Long itemId) {
+        return itemRepository.findById(itemId).orElseThrow(() ->
+                new NotFoundException("Заданного Item id не существует"));
+    }
+
+    private CachedItem loadItem(Item item, boolean ownerView) {
+        Long itemId = item.getId();
         Booking next = null;
         Booking last = null;
 
-        if (item.getOwner().getId().equals(userId)) {
+        if (ownerView) {
             next = bookingRepository.getNextBookingForItem(itemId, LocalDateTime.now()).orElse(null);
             last = bookingRepository.getLastBookingForItem(itemId, LocalDateTime.now()).orElse(null);
         }
 
         BookingItemEntity nextDto = null;
         BookingItemEntity lastDto = null;
+        LocalDateTime validUntil = null;
 
         if (next != null) {
             nextDto = makeBookingItemEntity(next);
+            validUntil = next.getStart();
         }
         if (last != null) {
             lastDto = makeBookingItemEntity(last);
@@ -114,42 +166,73 @@ public class ItemServiceImpl implements ItemService {
 
         List<CommentDto> comment = makeCommentDtoList(commentRepository.getCommentsForItem(itemId));
         itemDto.setComments(comment);
-        return itemDto;
+        return new CachedItem(item.getOwner().getId(), itemDto, validUntil);
     }
 
     @Override
     public List<ItemDto> getItemsText(String text, Integer from, Integer size) {
-        List<ItemDto> itemList = new ArrayList<>();
-        String checkingTheComparisonName;
-        String checkingTheComparisonDescription;
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
 
-        int page = Math.round((float) from / size);
-        Pageable pageable = PageRequest.of(page, size).withSort(Sort.by("id").descending());
+        Pageable pageable = Pagination.offset(from, size, Sort.unsorted());
+        return listToItemDto(itemSearch.search(text, pageable));
+    }
 
-        if (text == null || text.equals("")) {
-            return new ArrayList<>();
-        } else {
-            for (Item it : itemRepository.findAllItem(pageable)) {
-                Item itemM = it;
-                if (itemM.getAvailable()) {
-                    checkingTheComparisonName = itemM.getName().toLowerCase();
-                    checkingTheComparisonDescription = itemM.getDescription().toLowerCase();
-                    if (checkingTheComparisonName.contains(text.toLowerCase()))
-                        itemList.add(makeItemDto(itemM));
-                    else if (checkingTheComparisonDescription.contains(text.toLowerCase()))
-                        itemList.add(makeItemDto(itemM));
+    @Transactional(readOnly = true)
+    @Override
+    public List<AvailabilityDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!idIndex.itemExists(itemId)) {
+            throw new NotFoundException("Заданного Item id не существует");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("Интервал доступности указан не верно (Item.availability)");
+        }
+
+        Item item = itemRepository.findById(itemId).orElseThrow(() ->
+                new NotFoundException("Заданного Item id не существует"));
+        List<AvailabilityDto> ranges = new ArrayList<>();
+
+        if (!item.getAvailable()) {
+            ranges.add(new AvailabilityDto(from, to, false));
+            return ranges;
+        }
+
+        LocalDateTime freeFrom = from;
+
+        for (Booking booking : bookingRepository.findInWindow(itemId, BookingStatus.APPROVED, from, to)) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            AvailabilityDto previous = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+
+            if (start.isAfter(freeFrom)) {
+                ranges.add(new AvailabilityDto(freeFrom, start, true));
+                ranges.add(new AvailabilityDto(start, end, false));
+            } else if (previous != null && !previous.getFree()) {
+                if (end.isAfter(previous.getEnd())) {
+                    previous.setEnd(end);
                 }
+            } else {
+                ranges.add(new AvailabilityDto(start, end, false));
+            }
+
+            if (end.isAfter(freeFrom)) {
+                freeFrom = end;
             }
-            return itemList;
         }
+
+        if (freeFrom.isBefore(to)) {
+            ranges.add(new AvailabilityDto(freeFrom, to, true));
+        }
+        return ranges;
     }
 
     @Transactional
     public CommentDto createComment(CommentDto commentDto, Long userId, Long itemId) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Данного юзера не существует (Item.createComment)");
         }
-        if (itemId > returnId()) {
+        if (!idIndex.itemExists(itemId)) {
             throw new BadRequestException("Данная вещь отсутствует (Item.createComment)");
         }
         if (commentDto.getText() == null || commentDto.getText().equals("")) {
@@ -161,12 +244,12 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException("Бронирование отсутствует (Item.createComment)");
         }
 
-        commentDto.setId(makeCommentId());
         Comment comment = new Comment();
-        comment.setId(commentDto.getId());
         comment.setText(commentDto.getText());
-        comment.setItem(itemRepository.getById(itemId));
-        comment.setAuthor(userRepository.getById(userId));
+        comment.setItem(itemRepository.findById(itemId).orElseThrow(() ->
+                new BadRequestException("Данная вещь отсутствует (Item.createComment)")));
+        comment.setAuthor(userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Данного юзера не существует (Item.createComment)")));
         comment.setCreated(LocalDateTime.now());
         commentDto.setCreated(LocalDateTime.now());
         commentRepository.save(comment);
@@ -177,23 +260,17 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public ItemDto createItem(Long userId, ItemDto itemDto) {
-        User owner = userRepository.getById(userId);
+        checkItem(itemDto);
 
-        if (itemDto.getAvailable() == null) {
-            throw new BadRequestException("Поле Available отсутствует");
-        }
-        if (itemDto.getName() == null || itemDto.getName().equals("")) {
-            throw new BadRequestException("Поле Name отсутствует");
-        }
-        if (itemDto.getDescription() == null) {
-            throw new BadRequestException("Поле Description отсутствует");
-        }
         if (userService.getUserById(userId) == null) {
             throw new NotFoundException("Поле User отсутствует");
         }
 
-        itemDto.setId(makeId());
+        User owner = userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Поле User отсутствует"));
+
         Item item = makeItem(itemDto);
+        item.setId(null);
 
         if (itemDto.getRequestId() != null) {
             ItemRequest itemRequest = itemRequestRepository.findById(itemDto.getRequestId()).orElseThrow(() ->
@@ -201,16 +278,51 @@ public class ItemServiceImpl implements ItemService {
             item.setRequestId(itemRequest);
         }
 
-        item.setId(itemDto.getId());
         item.setOwner(owner);
         itemRepository.save(item);
+        itemDto.setId(item.getId());
         return itemDto;
     }
 
+    @Transactional
+    @Override
+    public List<ItemDto> createItems(Long userId, List<ItemDto> itemDtos) {
+        if (!idIndex.userExists(userId)) {
+            throw new NotFoundException("Поле User отсутствует");
+        }
+        if (itemDtos == null || itemDtos.isEmpty()) {
+            throw new BadRequestException("Список вещей пуст");
+        }
+
+        User owner = userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Поле User отсутствует"));
+        List<Item> items = new ArrayList<>();
+
+        for (ItemDto itemDto : itemDtos) {
+            checkItem(itemDto);
+            Item item = makeItem(itemDto);
+            item.setId(null);
+            item.setOwner(owner);
+
+            if (itemDto.getRequestId() != null) {
+                if (!idIndex.requestExists(itemDto.getRequestId())) {
+                    throw new NotFoundException("Добавленный запрос отсутствует (ItemService.create)");
+                }
+                item.setRequestId(itemRequestRepository.findById(itemDto.getRequestId()).orElseThrow(() ->
+                        new NotFoundException("Добавленный запрос отсутствует (ItemService.create)")));
+            }
+            items.add(item);
+        }
+
+        itemRepository.saveAll(items);
+        return listToItemDto(items);
+    }
+
     @Transactional
     @Override
     public ItemDto updateItemById(Long userId, Long id, ItemDto itemDto) {
-        Item adItem = itemRepository.getById(id);
+        Item adItem = itemRepository.findById(id).orElseThrow(() ->
+                new NotFoundException("Заданного Item id не существует"));
         User verificationUser = adItem.getOwner();
 
         if (!verificationUser.getId().equals(userId)) {
@@ -236,26 +348,28 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public void deleteItemById(Long id) {
-        itemRepository.delete(itemRepository.getById(id));
+        itemRepository.delete(itemRepository.findById(id).orElseThrow(() ->
+                new NotFoundException("Заданного Item id не существует")));
     }
 
-    @Override
-    public Long returnId() {
-        return id;
-    }
-
-    @Override
-    public void setId(Long id) {
-        this.id = id;
+    private void checkItem(ItemDto itemDto) {
+        if (itemDto.getAvailable() == null) {
+            throw new BadRequestException("Поле Available отсутствует");
+        }
+        if (itemDto.getName() == null || itemDto.getName().equals("")) {
+            throw new BadRequestException("Поле Name отсутствует");
+        }
+        if (itemDto.getDescription() == null) {
+            throw new BadRequestException("Поле Description отсутствует");
+        }
     }
 
-    private Long makeId() {
-        id += 1;
-        return id;
-    }
+    private Map<Long, Booking> groupBookingsByItem(List<Booking> bookings) {
+        Map<Long, Booking> byItem = new HashMap<>();
 
-    private Long makeCommentId() {
-        commentId += 1;
-        return commentId;
+        for (Booking booking : bookings) {
+            byItem.put(booking.getItem().getId(), booking);
+        }
+        return byItem;
     }
 }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.item.mapper.ItemMapper.copyItemDto;
+
+@Value
+public class CachedItem {
+    Long ownerId;
+    ItemDto item;
+    LocalDateTime validUntil;
+
+    public CachedItem(Long ownerId, ItemDto item, LocalDateTime validUntil) {
+        this.ownerId = ownerId;
+        this.item = copyItemDto(item);
+        this.validUntil = validUntil;
+    }
+
+    public ItemDto getItem() {
+        return copyItemDto(item);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class ItemCache {
+    private static final String ALL = "*";
+    private static final String OWNER_VIEW = ":owner";
+
+    private final Cache<ItemCacheKey, CachedItem> items;
+    private volatile Consumer<String> broadcast = message -> { };
+
+    public ItemCache(@Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.cache.items.expire-after-write:10m}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ValidUntilExpiry(expireAfterWrite.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+    }
+
+    public CachedItem get(Long itemId, boolean ownerView, Supplier<CachedItem> loader) {
+        return items.get(new ItemCacheKey(itemId, ownerView), key -> loader.get());
+    }
+
+    public Long ownerOf(Long itemId) {
+        CachedItem item = items.getIfPresent(new ItemCacheKey(itemId, false));
+
+        if (item == null) {
+            item = items.getIfPresent(new ItemCacheKey(itemId, true));
+        }
+        return item == null ? null : item.getOwnerId();
+    }
+
+    public void onCreate(Object entity) {
+        if (entity instanceof Comment || entity instanceof Booking) {
+            onChange(entity);
+        }
+    }
+
+    public void onChange(Object entity) {
+        if (entity instanceof Item) {
+            evictAfterCommit(((Item) entity).getId(), false);
+        } else if (entity instanceof Comment) {
+            evictAfterCommit(((Comment) entity).getItem().getId(), false);
+        } else if (entity instanceof Booking && ((Booking) entity).getStatus() == BookingStatus.APPROVED) {
+            evictAfterCommit(((Booking) entity).getItem().getId(), true);
+        } else if (entity instanceof User) {
+            evictAfterCommit(items::invalidateAll, ALL);
+        }
+    }
+
+    public void broadcastTo(Consumer<String> broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    public void onBroadcast(String message) {
+        if (ALL.equals(message)) {
+            items.invalidateAll();
+        } else if (message.endsWith(OWNER_VIEW)) {
+            evictOwnerView(Long.valueOf(message.substring(0, message.length() - OWNER_VIEW.length())));
+        } else {
+            evict(Long.valueOf(message));
+        }
+    }
+
+    public void invalidateAll() {
+        items.invalidateAll();
+    }
+
+    public void evict(Long itemId) {
+        items.invalidate(new ItemCacheKey(itemId, true));
+        items.invalidate(new ItemCacheKey(itemId, false));
+    }
+
+    public void evictOwnerView(Long itemId) {
+        items.invalidate(new ItemCacheKey(itemId, true));
+    }
+
+    private void evictAfterCommit(Long itemId, boolean ownerViewOnly) {
+        if (ownerViewOnly) {
+            evictAfterCommit(() -> evictOwnerView(itemId), itemId + OWNER_VIEW);
+        } else {
+            evictAfterCommit(() -> evict(itemId), String.valueOf(itemId));
+        }
+    }
+
+    private void evictAfterCommit(Runnable eviction, String message) {
+        eviction.run();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast.accept(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+                if (status == STATUS_COMMITTED) {
+                    broadcast.accept(message);
+                }
+            }
+        });
+    }
+
+    private static class ValidUntilExpiry implements Expiry<ItemCacheKey, CachedItem> {
+        private final long maximumNanos;
+
+        ValidUntilExpiry(long maximumNanos) {
+            this.maximumNanos = maximumNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(ItemCacheKey key, CachedItem value, long currentTime) {
+            if (value.getValidUntil() == null) {
+                return maximumNanos;
+            }
+            long untilChange = Duration.between(LocalDateTime.now(), value.getValidUntil()).toNanos();
+            return Math.max(0, Math.min(maximumNanos, untilChange));
+        }
+
+        @Override
+        public long expireAfterUpdate(ItemCacheKey key, CachedItem value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ItemCacheKey key, CachedItem value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.cache.items.broadcast", havingValue = "postgres")
+@RequiredArgsConstructor
+public class ItemCacheBroadcast {
+    static final String CHANNEL = "shareit_item_cache";
+    private static final int POLL_MILLIS = 1000;
+    private static final long RETRY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final ItemCache itemCache;
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listener;
+    private ExecutorService publisher;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        publisher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "item-cache-publish"));
+        listener = daemon(this::listen, "item-cache-listen");
+        listener.start();
+        itemCache.broadcastTo(this::publish);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+        publisher.shutdown();
+    }
+
+    public void publish(String message) {
+        publisher.execute(() -> send(message));
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    private void send(String message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, message);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Не удалось разослать сброс кэша вещей {}", message, e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                itemCache.invalidateAll();
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                listening = true;
+
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            itemCache.onBroadcast(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Подписка на сброс кэша вещей прервана, повтор через {} мс", RETRY_MILLIS, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
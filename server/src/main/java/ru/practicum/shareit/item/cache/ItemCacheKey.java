@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Value;
+
+@Value
+public class ItemCacheKey {
+    Long itemId;
+    boolean ownerView;
+}
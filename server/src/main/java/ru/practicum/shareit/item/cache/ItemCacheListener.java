@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@RequiredArgsConstructor
+public class ItemCacheListener {
+    private final ObjectProvider<ItemCache> itemCache;
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        itemCache.ifAvailable(cache -> cache.onCreate(entity));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        itemCache.ifAvailable(cache -> cache.onChange(entity));
+    }
+}
@@ -9,7 +9,14 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query(" select c from Comment as c" +
+            " join fetch c.author" +
             " where c.item.id = ?1" +
             " order by c.created desc")
     List<Comment> getCommentsForItem(Long itemId);
+
+    @Query(" select c from Comment as c" +
+            " join fetch c.author" +
+            " where c.item.id in ?1" +
+            " order by c.created desc")
+    List<Comment> getCommentsForItems(List<Long> itemIds);
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BookingItemEntity;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
@@ -32,6 +34,26 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto copyItemDto(ItemDto itemDto) {
+        List<CommentDto> comments = null;
+
+        if (itemDto.getComments() != null) {
+            comments = new ArrayList<>();
+
+            for (CommentDto comment : itemDto.getComments()) {
+                comments.add(new CommentDto(comment.getId(), comment.getText(), comment.getAuthorName(),
+                        comment.getCreated()));
+            }
+        }
+        return new ItemDto(itemDto.getId(), itemDto.getName(), itemDto.getDescription(), itemDto.getAvailable(),
+                copyBooking(itemDto.getLastBooking()), copyBooking(itemDto.getNextBooking()), comments,
+                itemDto.getRequestId());
+    }
+
+    private static BookingItemEntity copyBooking(BookingItemEntity booking) {
+        return booking == null ? null : new BookingItemEntity(booking.getId(), booking.getBookerId());
+    }
+
     public static List<ItemDto> listToItemDto(List<Item> item) throws BadRequestException {
         List<ItemDto> dtos = new ArrayList<>();
 
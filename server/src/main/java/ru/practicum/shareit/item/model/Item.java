@@ -4,6 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.index.IdIndexListener;
+import ru.practicum.shareit.item.cache.ItemCacheListener;
+import ru.practicum.shareit.item.search.ItemSearchListener;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -12,11 +15,14 @@ import javax.persistence.*;
 @Data
 @JsonIgnoreProperties({"hibernateLazyInitializer"})
 @Entity
+@EntityListeners({IdIndexListener.class, ItemSearchListener.class, ItemCacheListener.class})
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "items")
 public class Item {
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @JoinColumn(name = "owner")
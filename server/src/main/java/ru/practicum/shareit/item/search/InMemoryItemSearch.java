@@ -0,0 +1,196 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearch implements ItemSearch {
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        for (Item item : itemRepository.findAll()) {
+            index(item);
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = text.toLowerCase();
+        List<Document> found = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                Document document = documents.get(id);
+                if (document.isAvailable() && document.matches(query)) {
+                    found.add(document);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        found.sort(Comparator.comparing((Document document) -> !document.getName().contains(query))
+                .thenComparing(Document::getId, Comparator.reverseOrder()));
+
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = (int) pageable.getOffset(); i < found.size() && ids.size() < pageable.getPageSize(); i++) {
+            ids.add(found.get(i).getId());
+        }
+
+        Map<Long, Item> items = new HashMap<>();
+
+        for (Item item : itemRepository.findAllById(ids)) {
+            items.put(item.getId(), item);
+        }
+
+        List<Item> result = new ArrayList<>();
+
+        for (Long id : ids) {
+            if (items.containsKey(id)) {
+                result.add(items.get(id));
+            }
+        }
+        return result;
+    }
+
+    public void index(Item item) {
+        Document document = new Document(item.getId(), item.getName().toLowerCase(),
+                item.getDescription().toLowerCase(), item.getAvailable());
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(document.getId());
+                documents.put(document.getId(), document);
+
+                for (String gram : document.grams()) {
+                    postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Item item) {
+        Long id = item.getId();
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void unindex(Long id) {
+        Document document = documents.remove(id);
+
+        if (document == null) {
+            return;
+        }
+
+        for (String gram : document.grams()) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+
+        Set<Long> result = null;
+
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    @Value
+    private static class Document {
+        Long id;
+        String name;
+        String description;
+        boolean available;
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearch.grams(name);
+            grams.addAll(InMemoryItemSearch.grams(description));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@RequiredArgsConstructor
+public class ItemSearchListener {
+    private final ObjectProvider<InMemoryItemSearch> itemSearch;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        itemSearch.ifAvailable(search -> search.index(item));
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        itemSearch.ifAvailable(search -> search.remove(item));
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@EqualsAndHashCode(callSuper = true)
+public class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    public OffsetPageRequest(int from, int size, Sort sort) {
+        super(from / size, size, sort);
+        this.offset = from;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+}
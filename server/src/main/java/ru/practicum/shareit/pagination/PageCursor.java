@@ -0,0 +1,45 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+@Value
+public class PageCursor {
+    private static final char SEPARATOR = '|';
+
+    LocalDateTime time;
+    Long id;
+
+    public PageCursor(LocalDateTime time, Long id) {
+        this.time = time == null ? null : time.truncatedTo(ChronoUnit.MICROS);
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = (time == null ? "" : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+
+            if (separator < 0) {
+                throw new BadRequestException("Некорректный cursor");
+            }
+
+            String time = raw.substring(0, separator);
+            return new PageCursor(time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный cursor");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.util.List;
+import java.util.function.Function;
+
+@UtilityClass
+public class Pagination {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static Pageable offset(Integer from, Integer size, Sort sort) {
+        if (from < 0 || size <= 0) {
+            throw new BadRequestException("Значения для страницы переданы не верно");
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    public static Pageable first(Integer size, Sort sort) {
+        return offset(0, size, sort);
+    }
+
+    public static int limit(Integer size) {
+        if (size <= 0) {
+            throw new BadRequestException("Значения для страницы переданы не верно");
+        }
+        return size;
+    }
+
+    public static <T> ResponseEntity<List<T>> withNextCursor(List<T> content, Integer size,
+                                                           Function<T, PageCursor> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (!content.isEmpty() && content.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return response.body(content);
+    }
+}
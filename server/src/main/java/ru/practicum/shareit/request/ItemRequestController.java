@@ -2,12 +2,16 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
 
+import static ru.practicum.shareit.pagination.Pagination.withNextCursor;
+
 @RestController
 @RequestMapping("/requests")
 @Slf4j
@@ -22,11 +26,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getRequestsFrom(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(defaultValue = "0") Integer from,
-                                                @RequestParam(defaultValue = "5") Integer size) {
+    public ResponseEntity<List<ItemRequestDto>> getRequestsFrom(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(defaultValue = "0") Integer from,
+                                                                @RequestParam(defaultValue = "5") Integer size,
+                                                                @RequestParam(required = false) String cursor) {
         log.info("GET all requests with userId: {}", userId);
-        return itemRequestService.getRequestsFrom(userId, from, size);
+        List<ItemRequestDto> requests = cursor == null
+                ? itemRequestService.getRequestsFrom(userId, from, size)
+                : itemRequestService.getRequestsFromAfter(userId, cursor, size);
+        return withNextCursor(requests, size, request -> new PageCursor(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
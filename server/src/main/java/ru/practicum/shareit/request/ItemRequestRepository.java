@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -19,4 +20,12 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
             "where r.requester.id != :userId " +
             "order by r.created desc")
     List<ItemRequest> getAllItemRequestForUserNull(Long userId, Pageable pageable);
+
+    @Query("select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id != :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> getAllItemRequestForUserNullAfter(Long userId, LocalDateTime created, Long id,
+                                                        Pageable pageable);
 }
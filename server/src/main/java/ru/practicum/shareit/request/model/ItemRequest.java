@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.index.IdIndexListener;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -10,11 +11,14 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@EntityListeners(IdIndexListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "requests")
 public class ItemRequest {
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "description")
@@ -9,9 +9,9 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getRequestsFrom(Long userId, Integer from, Integer size);
 
+    List<ItemRequestDto> getRequestsFromAfter(Long userId, String cursor, Integer size);
+
     ItemRequestDto getRequestsById(Long userId, Long requestId);
 
     ItemRequestDto createRequests(Long userId, ItemRequestDto itemRequestDto);
-
-    void setId(Long id);
 }
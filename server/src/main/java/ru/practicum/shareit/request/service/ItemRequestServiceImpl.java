@@ -1,82 +1,93 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.Service.UserService;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.item.mapper.ItemMapper.listToItemDto;
+import static ru.practicum.shareit.item.mapper.ItemMapper.makeItemDto;
 import static ru.practicum.shareit.request.mapper.ItemRequestMapper.*;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
-    private final UserService userService;
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-
-    private Long id = 0L;
+    private final IdIndex idIndex;
 
     @Override
     public List<ItemRequestDto> getRequests(Long userId) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.getRequests)");
         }
 
-        List<ItemRequestDto> itemRequestDto = listToItemRequestDto(itemRequestRepository.getAllItemRequestForUser(userId));
-
-        for (ItemRequestDto dto : itemRequestDto) {
-            List<Item> items = itemRepository.findAllItemWhereRequester(dto.getId());
-            dto.setItems(listToItemDto(items));
-        }
-        return itemRequestDto;
+        return withItems(itemRequestRepository.getAllItemRequestForUser(userId));
     }
 
     @Override
     public List<ItemRequestDto> getRequestsFrom(Long userId, Integer from, Integer size) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.getRequestsById)");
         }
         if (from < 0 || size <= 0) {
             throw new BadRequestException("Значения для страницы переданы не верно(ItemRequestServiceImpl.getRequestsById)");
         }
 
-        int page = Math.round((float) from / size);
-        Pageable pageable = PageRequest.of(page, size).withSort(Sort.by("id").descending());
-        List<ItemRequestDto> itemRequestDto = listToItemRequestDto(itemRequestRepository
-                .getAllItemRequestForUserNull(userId, pageable));
+        Pageable pageable = Pagination.offset(from, size, Sort.by("id").descending());
+        return withItems(itemRequestRepository.getAllItemRequestForUserNull(userId, pageable));
+    }
 
-        for (ItemRequestDto dto : itemRequestDto) {
-            List<Item> items = itemRepository.findAllItemWhereRequester(dto.getId());
-            dto.setItems(listToItemDto(items));
+    @Override
+    public List<ItemRequestDto> getRequestsFromAfter(Long userId, String cursor, Integer size) {
+        if (!idIndex.userExists(userId)) {
+            throw new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.getRequestsById)");
         }
-        return itemRequestDto;
+
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        if (pageCursor.getTime() == null) {
+            throw new BadRequestException("Некорректный cursor");
+        }
+
+        Pageable pageable = Pagination.first(size, Sort.unsorted());
+        return withItems(itemRequestRepository.getAllItemRequestForUserNullAfter(userId, pageCursor.getTime(),
+                pageCursor.getId(), pageable));
     }
 
     @Override
     public ItemRequestDto getRequestsById(Long userId, Long requestId) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.getRequestsById)");
         }
-        if (requestId > id) {
+
+        if (!idIndex.requestExists(requestId)) {
             throw new NotFoundException("Указанного запроса не существует(ItemRequestServiceImpl.getRequestsById)");
         }
 
-        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(null);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() ->
+                new NotFoundException("Указанного запроса не существует(ItemRequestServiceImpl.getRequestsById)"));
         ItemRequestDto itemRequestDto = makeItemRequestDto(itemRequest);
         itemRequestDto.setItems(listToItemDto(itemRepository.findAllItemWhereRequester(requestId)));
         return itemRequestDto;
@@ -84,7 +95,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto createRequests(Long userId, ItemRequestDto itemRequestDto) {
-        if (userId > userService.returnId()) {
+        if (!idIndex.userExists(userId)) {
             throw new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.create)");
         }
         if (itemRequestDto.getDescription() == null || itemRequestDto.getDescription().equals("")) {
@@ -93,19 +104,37 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         itemRequestDto.setCreated(LocalDateTime.now());
         ItemRequest itemRequest = makeItemRequest(itemRequestDto);
-        itemRequest.setId(makeId());
-        itemRequest.setRequester(userRepository.getById(userId));
+        itemRequest.setId(null);
+        itemRequest.setRequester(userRepository.findById(userId).orElseThrow(() ->
+                new NotFoundException("Указанного пользователя не существует(ItemRequestServiceImpl.create)")));
         itemRequestRepository.save(itemRequest);
         itemRequestDto = makeItemRequestDto(itemRequest);
         return itemRequestDto;
     }
 
-    public void setId(Long id) {
-        this.id = id;
-    }
+    private List<ItemRequestDto> withItems(List<ItemRequest> itemRequests) {
+        List<ItemRequestDto> itemRequestDto = listToItemRequestDto(itemRequests);
+
+        if (itemRequestDto.isEmpty()) {
+            return itemRequestDto;
+        }
+
+        List<Long> ids = new ArrayList<>();
+
+        for (ItemRequestDto dto : itemRequestDto) {
+            ids.add(dto.getId());
+        }
+
+        Map<Long, List<ItemDto>> itemsByRequest = new HashMap<>();
+
+        for (Item item : itemRepository.findAllItemWhereRequesterIn(ids)) {
+            itemsByRequest.computeIfAbsent(item.getRequestId().getId(), id -> new ArrayList<>())
+                    .add(makeItemDto(item));
+        }
 
-    private Long makeId() {
-        id += 1;
-        return id;
+        for (ItemRequestDto dto : itemRequestDto) {
+            dto.setItems(itemsByRequest.getOrDefault(dto.getId(), new ArrayList<>()));
+        }
+        return itemRequestDto;
     }
 }
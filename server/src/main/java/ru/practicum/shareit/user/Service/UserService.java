@@ -15,8 +15,4 @@ public interface UserService {
     User updateUserById(Long id, UserDto user) throws CloneNotSupportedException;
 
     void deleteUserById(Long id);
-
-    Long returnId();
-
-    void setId(Long id);
 }
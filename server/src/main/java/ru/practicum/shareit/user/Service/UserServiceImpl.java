@@ -1,11 +1,14 @@
 package ru.practicum.shareit.user.Service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -15,17 +18,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Timed("shareit.service")
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final IdIndex idIndex;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, IdIndex idIndex) {
         this.userRepository = userRepository;
+        this.idIndex = idIndex;
     }
 
-    private Long id = 0L;
-
     @Override
     public List<User> getUsers() {
         return new ArrayList<User>(userRepository.findAll());
@@ -34,17 +38,18 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public UserDto getUserById(Long idUser) {
-        if (idUser > returnId()) {
+        if (!idIndex.userExists(idUser)) {
             throw new NotFoundException("Заданный Id отсутствует (User)");
         }
 
-        User user = userRepository.getById(idUser);
+        User user = userRepository.findById(idUser).orElseThrow(() ->
+                new NotFoundException("Заданный Id отсутствует (User)"));
         UserDto userDto = UserMapper.makeUserDto(user);
         userDto.setId(user.getId());
         return userDto;
     }
 
-    @Transactional
+    @Transactional(rollbackFor = CloneNotSupportedException.class)
     @Override
     public User createUser(UserDto user) throws CloneNotSupportedException {
         User newUser = UserMapper.makeUser(user);
@@ -56,49 +61,33 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Неправильный email(User)");
         }
 
-        newUser.setId(makeId());
-        List<User> userList = userRepository.findAll();
-
-        for (User us : userList) {
-            User userM = us;
-            if (userM.getEmail().equals(newUser.getEmail()))
-                throw new CloneNotSupportedException("Такой email уже существует(User)");
+        if (userRepository.existsByEmailIgnoreCase(newUser.getEmail())) {
+            throw new CloneNotSupportedException("Такой email уже существует(User)");
         }
 
-        userRepository.save(newUser);
+        saveUniqueEmail(newUser, "Такой email уже существует(User)");
         return newUser;
     }
 
-    @Transactional
+    @Transactional(rollbackFor = CloneNotSupportedException.class)
     @Override
     public User updateUserById(Long id, UserDto userDto) throws CloneNotSupportedException {
-        User adUser = UserMapper.makeUser(userDto);
-        adUser.setId(id);
+        User user = userRepository.findById(id).orElseThrow(() ->
+                new NotFoundException("Заданный Id отсутствует (User)"));
 
         if (!(userDto.getEmail() == null)) {
-            adUser.setEmail(userDto.getEmail());
-        } else {
-            adUser.setEmail(userRepository.getById(id).getEmail());
-        }
-
-        List<User> userList = userRepository.findAll();
-
-        for (User us : userList) {
-            User userM = us;
-            if (adUser.getId().compareTo(userM.getId()) != 0) {
-                if (userM.getEmail().equals(adUser.getEmail()))
-                    throw new CloneNotSupportedException("Данный email уже зарегистрирован");
+            if (userRepository.existsByEmailIgnoreCaseAndIdNot(userDto.getEmail(), id)) {
+                throw new CloneNotSupportedException("Данный email уже зарегистрирован");
             }
+            user.setEmail(userDto.getEmail());
         }
 
-        if (!(adUser.getName() == null)) {
-            adUser.setName(userDto.getName());
-        } else {
-            adUser.setName(userRepository.getById(id).getName());
+        if (!(userDto.getName() == null)) {
+            user.setName(userDto.getName());
         }
 
-        userRepository.save(adUser);
-        return adUser;
+        saveUniqueEmail(user, "Данный email уже зарегистрирован");
+        return user;
     }
 
     @Override
@@ -106,16 +95,11 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(id);
     }
 
-    public Long returnId() {
-        return id;
-    }
-
-    public void setId(Long ids) {
-        id = ids;
-    }
-
-    private Long makeId() {
-        id += 1;
-        return id;
+    private void saveUniqueEmail(User user, String message) throws CloneNotSupportedException {
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new CloneNotSupportedException(message);
+        }
     }
 }
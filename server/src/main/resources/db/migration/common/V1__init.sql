@@ -0,0 +1,49 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users
+(
+    id    BIGINT PRIMARY KEY,
+    name  VARCHAR(255),
+    email VARCHAR(512) UNIQUE
+);
+
+CREATE TABLE requests
+(
+    id          BIGINT PRIMARY KEY,
+    description VARCHAR(200),
+    requester   BIGINT REFERENCES users (id),
+    created     TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE items
+(
+    id          BIGINT PRIMARY KEY,
+    owner       BIGINT REFERENCES users (id),
+    name        VARCHAR(20)  NOT NULL,
+    description VARCHAR(200) NOT NULL,
+    available   BOOLEAN      NOT NULL,
+    request     BIGINT REFERENCES requests (id)
+);
+
+CREATE TABLE bookings
+(
+    id         BIGINT PRIMARY KEY,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT REFERENCES items (id),
+    booker_id  BIGINT REFERENCES users (id),
+    status     VARCHAR
+);
+
+CREATE TABLE comments
+(
+    id        BIGINT PRIMARY KEY,
+    text      VARCHAR(200),
+    item_id   BIGINT REFERENCES items (id),
+    author_id BIGINT REFERENCES users (id),
+    created   TIMESTAMP WITHOUT TIME ZONE
+);
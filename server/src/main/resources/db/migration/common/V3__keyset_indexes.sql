@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS requests_created_id_idx ON requests (created DESC, id DESC);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request);
@@ -0,0 +1,27 @@
+DO
+$$
+    DECLARE
+        duplicates TEXT;
+    BEGIN
+        SELECT string_agg(upper_email || ' (id ' || ids || ')', '; ')
+        INTO duplicates
+        FROM (SELECT upper(email) AS upper_email, string_agg(id::TEXT, ', ' ORDER BY id) AS ids
+              FROM users
+              WHERE email IS NOT NULL
+              GROUP BY upper(email)
+              HAVING COUNT(*) > 1) AS clashes;
+
+        IF duplicates IS NOT NULL THEN
+            RAISE EXCEPTION 'Нельзя создать users_email_upper_uq: email отличаются только регистром: %', duplicates
+                USING HINT = 'Измените email или объедините перечисленных пользователей и перезапустите сервер. ' ||
+                             'Найти их: SELECT upper(email), array_agg(id) FROM users ' ||
+                             'GROUP BY upper(email) HAVING COUNT(*) > 1';
+        END IF;
+    END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_upper_uq ON users (upper(email));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (lower(name) gin_trgm_ops) WHERE available;
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (lower(description) gin_trgm_ops) WHERE available;
@@ -0,0 +1,16 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', GREATEST((SELECT MAX(id) FROM users) + 50, (SELECT last_value FROM users_seq)))
+WHERE EXISTS(SELECT 1 FROM users);
+SELECT setval('requests_seq', GREATEST((SELECT MAX(id) FROM requests) + 50, (SELECT last_value FROM requests_seq)))
+WHERE EXISTS(SELECT 1 FROM requests);
+SELECT setval('items_seq', GREATEST((SELECT MAX(id) FROM items) + 50, (SELECT last_value FROM items_seq)))
+WHERE EXISTS(SELECT 1 FROM items);
+SELECT setval('bookings_seq', GREATEST((SELECT MAX(id) FROM bookings) + 50, (SELECT last_value FROM bookings_seq)))
+WHERE EXISTS(SELECT 1 FROM bookings);
+SELECT setval('comments_seq', GREATEST((SELECT MAX(id) FROM comments) + 50, (SELECT last_value FROM comments_seq)))
+WHERE EXISTS(SELECT 1 FROM comments);
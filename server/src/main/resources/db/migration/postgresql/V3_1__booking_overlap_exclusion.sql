@@ -0,0 +1,45 @@
+DO
+$$
+    DECLARE
+        inverted TEXT;
+        overlaps TEXT;
+    BEGIN
+        SELECT string_agg(id::TEXT, ', ' ORDER BY id)
+        INTO inverted
+        FROM bookings
+        WHERE status = 'APPROVED'
+          AND start_date > end_date;
+
+        IF inverted IS NOT NULL THEN
+            RAISE EXCEPTION 'Нельзя создать bookings_approved_no_overlap: у бронирований окончание раньше начала: %',
+                inverted
+                USING HINT = 'Исправьте start_date/end_date или статус перечисленных бронирований ' ||
+                             'и перезапустите сервер.';
+        END IF;
+
+        SELECT string_agg(booking.id || ' и ' || other.id, ', ' ORDER BY booking.id, other.id)
+        INTO overlaps
+        FROM bookings booking
+                 JOIN bookings other ON other.item_id = booking.item_id
+            AND other.id > booking.id
+            AND other.start_date < booking.end_date
+            AND booking.start_date < other.end_date
+        WHERE booking.status = 'APPROVED'
+          AND other.status = 'APPROVED'
+          AND booking.start_date < booking.end_date
+          AND other.start_date < other.end_date;
+
+        IF overlaps IS NOT NULL THEN
+            RAISE EXCEPTION 'Нельзя создать bookings_approved_no_overlap: пересекаются подтверждённые бронирования: %',
+                overlaps
+                USING HINT = 'Отклоните (status = ''REJECTED'') или перенесите одно бронирование из каждой пары ' ||
+                             'и перезапустите сервер.';
+        END IF;
+    END
+$$;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_approved_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status = 'APPROVED');
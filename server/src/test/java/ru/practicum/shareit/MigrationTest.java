@@ -0,0 +1,106 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    DriverManagerDataSource dataSource;
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(dataSource);
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'owner', 'owner@user.ru')");
+        jdbcTemplate.update("insert into users (id, name, email) values (2, 'booker', 'booker@user.ru')");
+        jdbcTemplate.update("insert into items (id, owner, name, description, available) " +
+                "values (1, 1, 'name', 'description', true)");
+    }
+
+    @Test
+    void migratesLegacyData() {
+        booking(1L, START, START.plusDays(1), "APPROVED");
+        booking(2L, START.plusDays(1), START.plusDays(2), "APPROVED");
+        booking(3L, START, START.plusDays(2), "REJECTED");
+
+        migrate();
+
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_constraint " +
+                "where conname = 'bookings_approved_no_overlap'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_indexes " +
+                "where indexname = 'users_email_upper_uq'", Integer.class));
+    }
+
+    @Test
+    void emailsDifferingByCaseStopMigration() {
+        jdbcTemplate.update("insert into users (id, name, email) values (3, 'copy', 'OWNER@user.ru')");
+
+        FlywayException exception = assertThrows(FlywayException.class, this::migrate);
+
+        assertTrue(exception.getMessage().contains("OWNER@USER.RU (id 1, 3)"), exception.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from pg_indexes " +
+                "where indexname = 'users_email_upper_uq'", Integer.class));
+    }
+
+    @Test
+    void overlappingApprovedBookingsStopMigration() {
+        booking(1L, START, START.plusDays(2), "APPROVED");
+        booking(2L, START.plusDays(1), START.plusDays(3), "APPROVED");
+        booking(3L, START, START.plusDays(3), "WAITING");
+
+        FlywayException exception = assertThrows(FlywayException.class, this::migrate);
+
+        assertTrue(exception.getMessage().contains("1 и 2"), exception.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from pg_constraint " +
+                "where conname = 'bookings_approved_no_overlap'", Integer.class));
+    }
+
+    @Test
+    void invertedApprovedBookingStopsMigration() {
+        booking(1L, START.plusDays(1), START, "APPROVED");
+
+        FlywayException exception = assertThrows(FlywayException.class, this::migrate);
+
+        assertTrue(exception.getMessage().contains("окончание раньше начала: 1"), exception.getMessage());
+    }
+
+    private void booking(Long id, LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, 1, 2, ?)", id, start, end, status);
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+}
@@ -8,10 +8,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -22,32 +28,37 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
 class BookingControllerTest {
     @MockBean
     BookingService bookingService;
+    @MockBean
+    BookingExporter bookingExporter;
     @Autowired
     ObjectMapper objectMapper;
     @Autowired
     MockMvc mvc;
     BookingDto bookingDto;
     BookingEntity bookingEntity;
-    List<BookingDto> listDto;
+    List<BookingView> listView;
 
     @BeforeEach
     public void setUp() {
         bookingDto = new BookingDto(1L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1), null, null,
                 BookingStatus.WAITING);
         bookingEntity = new BookingEntity(1L, LocalDateTime.now(), LocalDateTime.now(), 1L);
-        listDto = new ArrayList<>(asList(bookingDto));
+        listView = new ArrayList<>(asList(new BookingView(1L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1),
+                BookingStatus.WAITING, 2L, "Дрель", 3L, "Иван")));
     }
 
     @Test
     void getBookingsOwner() throws Exception {
-        when(bookingService.getBookingsOwner(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(listDto);
+        when(bookingService.getBookingsOwner(anyLong(), anyString(), any(), anyInt(), anyInt())).thenReturn(listView);
         mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L)
                         .param("name", "0")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -56,15 +67,52 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getBookingsOwnerWithFilter() throws Exception {
+        BookingFilter filter = new BookingFilter(2L, LocalDateTime.of(2030, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 2, 1, 0, 0));
+        when(bookingService.getBookingsOwner(anyLong(), anyString(), eq(filter), anyInt(), anyInt()))
+                .thenReturn(listView);
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L)
+                        .param("itemId", "2")
+                        .param("rangeStart", "2030-01-01T00:00:00")
+                        .param("rangeEnd", "2030-02-01T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+
+    @Test
+    void exportBookingsOwner() throws Exception {
+        when(bookingExporter.exportOwnerBookings(anyLong(), any())).thenAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            return new WebAsyncTask<Void>(() -> {
+                response.getOutputStream().write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            });
+        });
+        MvcResult result = mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
     @Test
     void getBookingState() throws Exception {
-        when(bookingService.getBookingState(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(listDto);
+        when(bookingService.getBookingState(anyLong(), anyString(), any(), anyInt(), anyInt())).thenReturn(listView);
         mvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L)
                         .param("name", "0")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id", is(2)))
+                .andExpect(jsonPath("$[0].item.name", is("Дрель")))
+                .andExpect(jsonPath("$[0].booker.id", is(3)))
+                .andExpect(jsonPath("$[0].booker.email").doesNotExist());
     }
 
     @Test
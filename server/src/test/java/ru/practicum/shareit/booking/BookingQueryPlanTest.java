@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.booking.BookingQueryPlanTest$Recorder")
+class BookingQueryPlanTest {
+    private static final Long ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final List<BookingState> STATES = List.of(BookingState.ALL, BookingState.CURRENT,
+            BookingState.PAST, BookingState.FUTURE, BookingState.WAITING, BookingState.REJECTED);
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    DataSource dataSource;
+
+    @BeforeEach
+    public void clearRecorder() {
+        Recorder.SQL.clear();
+    }
+
+    @Test
+    void bookerQueriesUseIndex() throws SQLException {
+        for (BookingState state : STATES) {
+            assertIndexScan(state.name(), explain(() -> bookingRepository.findBookings(query(BookingRole.BOOKER,
+                    state))));
+        }
+    }
+
+    @Test
+    void ownerQueriesUseIndex() throws SQLException {
+        for (BookingState state : STATES) {
+            assertIndexScan(state.name(), explain(() -> bookingRepository.findBookings(query(BookingRole.OWNER,
+                    state))));
+        }
+        assertIndexScan("ITEMS", explain(() -> itemRepository.findAllItemWhereOwner(ID, PAGE)));
+    }
+
+    @Test
+    void keysetQueriesUseIndex() throws SQLException {
+        PageCursor cursor = new PageCursor(NOW, ID);
+
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : STATES) {
+                assertIndexScan(role + " " + state, explain(() -> bookingRepository.findBookings(query(role, state)
+                        .toBuilder().cursor(cursor).build())));
+            }
+        }
+    }
+
+    @Test
+    void stateQueriesAreParameterized() {
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : STATES) {
+                bookingRepository.findBookings(query(role, state));
+                String sql = Recorder.SQL.get(Recorder.SQL.size() - 1);
+                assertFalse(sql.contains("'"), role + " " + state + ": " + sql);
+                assertFalse(sql.contains("=" + ID), role + " " + state + ": " + sql);
+            }
+        }
+    }
+
+    @Test
+    void itemQueriesUseItemStatusStartIndex() throws SQLException {
+        Map<String, Runnable> queries = Map.of(
+                "NEXT", () -> bookingRepository.getNextBookingForItem(ID, NOW),
+                "LAST", () -> bookingRepository.getLastBookingForItem(ID, NOW),
+                "NEXT_BATCH", () -> bookingRepository.getNextBookingsForItems(List.of(ID, ID + 1), NOW),
+                "LAST_BATCH", () -> bookingRepository.getLastBookingsForItems(List.of(ID, ID + 1), NOW));
+
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            String plan = explain(query.getValue());
+            assertIndexScan(query.getKey(), plan);
+            assertTrue(plan.contains("BOOKINGS_ITEM_STATUS_START_IDX"), query.getKey() + ": " + plan);
+        }
+    }
+
+    @Test
+    void checkStatusOfBookingUsesIndex() throws SQLException {
+        assertIndexScan("STATUS", explain(() -> bookingRepository.checkStatusOfBooking(ID, ID, NOW)));
+    }
+
+    private BookingQuery query(BookingRole role, BookingState state) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(ID)
+                .state(state)
+                .now(NOW)
+                .limit(10)
+                .build();
+    }
+
+    private void assertIndexScan(String query, String plan) {
+        assertFalse(plan.contains("tableScan"), query + ": " + plan);
+    }
+
+    private String explain(Runnable query) throws SQLException {
+        query.run();
+        String sql = Recorder.SQL.get(Recorder.SQL.size() - 1);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    public static class Recorder implements StatementInspector {
+        static final List<String> SQL = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -18,6 +21,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -29,17 +34,20 @@ class BookingRepositoryTest {
     ItemRequestRepository itemRequestRepository;
     @Autowired
     BookingRepository bookingRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    User user;
+    Item item;
+    Booking booking;
 
     @BeforeEach
     public void saveObject() {
-        User user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        ItemRequest itemRequest = new ItemRequest(1L, "name", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        Item item1 = new Item(1L, user, "name", "description", true, itemRequest);
-        itemRepository.save(item1);
-        Booking booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusDays(2), item1, user, BookingStatus.APPROVED);
-        bookingRepository.save(booking);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "name", user, LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, user, "name", "description", true, itemRequest));
+        booking = bookingRepository.save(new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusDays(2), item,
+                user, BookingStatus.APPROVED));
     }
 
     @AfterEach
@@ -51,98 +59,166 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerIdOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerIdOrderByDesc(1L, Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findBookingsByBooker() {
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.ALL,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.CURRENT,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.PAST,
+                LocalDateTime.now().plusDays(3))).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.FUTURE,
+                LocalDateTime.now().minusDays(3))).size());
+        assertEquals(0, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.WAITING,
+                LocalDateTime.now())).size());
+        assertEquals(0, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().userId(user.getId() + 1).build()).size());
     }
 
     @Test
-    void findAllByBookerIdAndStartBeforeAndEndAfterOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByDesc(1L, LocalDateTime.now(),
-                LocalDateTime.now().plusDays(1), Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findBookingsByOwner() {
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.CURRENT,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.PAST,
+                LocalDateTime.now().plusDays(3))).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.FUTURE,
+                LocalDateTime.now().minusDays(3))).size());
+        assertEquals(0, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.FUTURE,
+                LocalDateTime.now())).size());
     }
 
     @Test
-    void findAllByBookerIdAndEndBeforeOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByDesc(1L,
-                LocalDateTime.now().plusDays(3), Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findBookingsByStatus() {
+        bookingRepository.getOne(booking.getId()).setStatus(BookingStatus.WAITING);
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.WAITING,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.WAITING,
+                LocalDateTime.now())).size());
+        bookingRepository.getOne(booking.getId()).setStatus(BookingStatus.REJECTED);
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.REJECTED,
+                LocalDateTime.now())).size());
+        assertEquals(1, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.REJECTED,
+                LocalDateTime.now())).size());
+        assertEquals(0, bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.WAITING,
+                LocalDateTime.now())).size());
     }
 
     @Test
-    void findAllByBookerIdAndStartIsAfterOrderByStartDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(1L,
-                LocalDateTime.now().minusDays(3), Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findBookingsOrder() {
+        Booking later = bookingRepository.save(new Booking(null, booking.getStart().plusHours(1),
+                LocalDateTime.now().plusDays(2), item, user, BookingStatus.APPROVED));
+        Booking sameStart = bookingRepository.save(new Booking(null, later.getStart(),
+                LocalDateTime.now().plusDays(2), item, user, BookingStatus.APPROVED));
+        List<BookingView> list = bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().limit(10).build());
+        assertEquals(List.of(sameStart.getId(), later.getId(), booking.getId()),
+                List.of(list.get(0).getId(), list.get(1).getId(), list.get(2).getId()));
+        assertEquals(later.getId(), bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().offset(1).build()).get(0).getId());
+        assertEquals(item.getName(), list.get(0).getItem().getName());
+        assertEquals(user.getName(), list.get(0).getBooker().getName());
     }
 
     @Test
-    void findAllByBookerIdAndBookerStatusWaitingOrderByDesc() {
-        Booking booking = bookingRepository.getOne(1L);
-        booking.setStatus(BookingStatus.WAITING);
-        List<Booking> list = bookingRepository.findAllByBookerIdAndBookerStatusWaitingOrderByDesc(1L,
-                BookingStatus.WAITING, Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findBookingsByItemAndRange() {
+        Item other = itemRepository.save(new Item(null, user, "other", "description", true, null));
+        Booking otherBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(5),
+                LocalDateTime.now().plusDays(6), other, user, BookingStatus.APPROVED));
+        List<BookingView> byItem = bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().itemId(other.getId()).limit(10).build());
+        assertEquals(1, byItem.size());
+        assertEquals(otherBooking.getId(), byItem.get(0).getId());
+        List<BookingView> byRange = bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().rangeStart(LocalDateTime.now().plusDays(3))
+                .rangeEnd(LocalDateTime.now().plusDays(7)).limit(10).build());
+        assertEquals(1, byRange.size());
+        assertEquals(otherBooking.getId(), byRange.get(0).getId());
     }
 
     @Test
-    void findAllByBookerIdAndBookerStatusRejectedOrderByDesc() {
-        Booking booking = bookingRepository.getOne(1L);
-        booking.setStatus(BookingStatus.REJECTED);
-        List<Booking> list = bookingRepository.findAllByBookerIdAndBookerStatusWaitingOrderByDesc(1L,
-                BookingStatus.REJECTED, Pageable.ofSize(1));
+    void getNextBookingsForItems() {
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                item, user, BookingStatus.APPROVED));
+        List<Booking> list = bookingRepository.getNextBookingsForItems(List.of(item.getId()),
+                LocalDateTime.now().minusDays(1));
         assertEquals(1, list.size());
+        assertEquals(booking.getId(), list.get(0).getId());
     }
 
     @Test
-    void findAllByBookerOwnerIdOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdOrderByDesc(1L, Pageable.ofSize(1));
+    void getLastBookingsForItems() {
+        List<Booking> list = bookingRepository.getLastBookingsForItems(List.of(item.getId()),
+                LocalDateTime.now().plusDays(1));
         assertEquals(1, list.size());
+        assertEquals(booking.getId(), list.get(0).getId());
     }
 
     @Test
-    void findAllByBookerOwnerIdAndStartBeforeAndEndAfterOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdAndStartBeforeAndEndAfterOrderByDesc(1L, LocalDateTime.now(),
-                LocalDateTime.now().plusDays(1), Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void checkStatusOfBooking() {
+        assertEquals(BookingStatus.APPROVED, bookingRepository.checkStatusOfBooking(booking.getId(), item.getId(),
+                LocalDateTime.now().plusDays(3)));
     }
 
     @Test
-    void findAllByBookerOwnerIdAndEndBeforeOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdAndEndBeforeOrderByDesc(1L,
-                LocalDateTime.now().plusDays(3), Pageable.ofSize(1));
+    void findBookingsAfterCursor() {
+        Booking later = bookingRepository.save(new Booking(null, booking.getStart().plusHours(1),
+                LocalDateTime.now().plusDays(2), item, user, BookingStatus.APPROVED));
+        List<BookingView> list = bookingRepository.findBookings(query(BookingRole.BOOKER, BookingState.ALL,
+                LocalDateTime.now()).toBuilder().cursor(new PageCursor(later.getStart(), later.getId())).limit(5)
+                .build());
         assertEquals(1, list.size());
+        assertEquals(booking.getId(), list.get(0).getId());
     }
 
     @Test
-    void findAllByBookerOwnerIdAndBookerStartAfterOrderByDesc() {
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdAndBookerStartAfterOrderByDesc(1L,
-                LocalDateTime.now().minusDays(3), Pageable.ofSize(1));
+    void findBookingsAfterCursorCurrent() {
+        Booking next = bookingRepository.save(new Booking(null, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusDays(1), item, user, BookingStatus.APPROVED));
+        List<BookingView> list = bookingRepository.findBookings(query(BookingRole.OWNER, BookingState.CURRENT,
+                LocalDateTime.now()).toBuilder().cursor(new PageCursor(booking.getStart(), booking.getId())).limit(5)
+                .build());
         assertEquals(1, list.size());
+        assertEquals(next.getId(), list.get(0).getId());
     }
 
     @Test
-    void findAllByBookerOwnerIdAndBookerStatusWaitingOrderByDesc() {
-        Booking booking = bookingRepository.getOne(1L);
-        booking.setStatus(BookingStatus.WAITING);
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdAndBookerStatusWaitingOrderByDesc(1L,
-                BookingStatus.WAITING, Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void existsOverlapping() {
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED,
+                booking.getStart().plusDays(1), booking.getEnd().plusDays(1)));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED,
+                booking.getEnd().plusSeconds(1), booking.getEnd().plusDays(1)));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), BookingStatus.WAITING,
+                booking.getStart(), booking.getEnd()));
     }
 
     @Test
-    void findAllByBookerOwnerIdAndBookerStatusRejectedOrderByDesc() {
-        Booking booking = bookingRepository.getOne(1L);
-        booking.setStatus(BookingStatus.REJECTED);
-        List<Booking> list = bookingRepository.findAllByBookerOwnerIdAndBookerStatusRejectedOrderByDesc(1L,
-                BookingStatus.REJECTED, Pageable.ofSize(1));
-        assertEquals(1, list.size());
+    void findWithItemAndBookerById() {
+        entityManager.flush();
+        entityManager.clear();
+        Booking found = bookingRepository.findWithItemAndBookerById(booking.getId()).orElseThrow();
+        assertTrue(Hibernate.isInitialized(found.getItem()));
+        assertTrue(Hibernate.isInitialized(found.getBooker()));
+        assertEquals(item.getName(), found.getItem().getName());
+        assertFalse(bookingRepository.findWithItemAndBookerById(booking.getId() + 1).isPresent());
     }
 
     @Test
-    void checkStatusOfBooking() {
-        assertEquals(BookingStatus.APPROVED, bookingRepository.checkStatusOfBooking(1L, 1L,
-                LocalDateTime.now().plusDays(3)));
+    void findInWindow() {
+        List<Booking> list = bookingRepository.findInWindow(item.getId(), BookingStatus.APPROVED,
+                booking.getStart().plusDays(1), booking.getEnd().plusDays(1));
+        assertEquals(1, list.size());
+        assertEquals(0, bookingRepository.findInWindow(item.getId(), BookingStatus.APPROVED,
+                booking.getEnd().plusSeconds(1), booking.getEnd().plusDays(1)).size());
+    }
+
+    private BookingQuery query(BookingRole role, BookingState state, LocalDateTime now) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(user.getId())
+                .state(state)
+                .now(now)
+                .limit(1)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ServiceUnavailableException;
+import ru.practicum.shareit.index.IdIndex;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertStatements;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExporterTest {
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    BookingExporter bookingExporter;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "owner", "owner@user.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@user.ru"));
+        item = itemRepository.save(new Item(null, owner, "Дрель", "Description", true, null));
+        for (int i = 0; i < 30; i++) {
+            bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(i),
+                    LocalDateTime.now().plusDays(i + 1), item, booker, BookingStatus.WAITING));
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    void exportOwnerBookings() throws Exception {
+        String[] lines = export(owner.getId()).split("\n");
+        assertEquals(30, lines.length);
+        LocalDateTime previous = null;
+        for (String line : lines) {
+            JsonNode booking = objectMapper.readTree(line);
+            assertEquals(item.getId(), booking.path("item").path("id").asLong());
+            assertEquals("Дрель", booking.path("item").path("name").asText());
+            assertEquals(booker.getId(), booking.path("booker").path("id").asLong());
+            LocalDateTime start = LocalDateTime.parse(booking.path("start").asText());
+            assertTrue(previous == null || !start.isAfter(previous));
+            previous = start;
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    void streamAllByOwnerIdSqlBudget() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long count = assertStatements(1, () -> transactionTemplate.execute(status -> {
+            try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(owner.getId())) {
+                return bookings.count();
+            }
+        }));
+        assertEquals(30, count);
+    }
+
+    @Test
+    @DirtiesContext
+    void exportBookerHasNoOwnerBookings() throws Exception {
+        assertEquals("", export(booker.getId()));
+    }
+
+    @Test
+    @DirtiesContext
+    void exportUnknownOwner() throws Exception {
+        mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        assertThrows(NotFoundException.class,
+                () -> bookingExporter.exportOwnerBookings(Long.MAX_VALUE, new MockHttpServletResponse()));
+    }
+
+    @Test
+    @DirtiesContext
+    void exportRejectedWhenExportsBusy() throws Exception {
+        BookingRepository emptyRepository = mock(BookingRepository.class);
+        IdIndex idIndex = mock(IdIndex.class);
+        when(idIndex.userExists(anyLong())).thenReturn(true);
+        when(emptyRepository.streamAllByOwnerId(anyLong())).thenAnswer(invocation -> Stream.empty());
+        BookingExporter exporter = new BookingExporter(emptyRepository, idIndex, objectMapper,
+                mock(PlatformTransactionManager.class), 1, Duration.ofHours(2));
+        try {
+            WebAsyncTask<Void> export = exporter.exportOwnerBookings(1L, new MockHttpServletResponse());
+            assertEquals(Duration.ofHours(2).toMillis(), export.getTimeout());
+            assertNotNull(export.getExecutor());
+            assertThrows(ServiceUnavailableException.class,
+                    () -> exporter.exportOwnerBookings(1L, new MockHttpServletResponse()));
+
+            export.getCallable().call();
+            assertNotNull(exporter.exportOwnerBookings(1L, new MockHttpServletResponse()));
+        } finally {
+            exporter.shutdown();
+        }
+    }
+
+    private String export(Long ownerId) throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", ownerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
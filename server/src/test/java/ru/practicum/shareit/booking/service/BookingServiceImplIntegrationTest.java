@@ -6,16 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.Service.ItemServiceImpl;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.Service.UserServiceImpl;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -23,6 +26,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertStatements;
 
 @SpringBootTest
 class BookingServiceImplIntegrationTest {
@@ -34,10 +40,6 @@ class BookingServiceImplIntegrationTest {
     UserRepository userRepository;
     @Autowired
     ItemRepository itemRepository;
-    @Autowired
-    UserServiceImpl userService;
-    @Autowired
-    ItemServiceImpl itemService;
     ItemRequest itemRequest;
     Item item;
     Item item2;
@@ -48,113 +50,163 @@ class BookingServiceImplIntegrationTest {
 
     @BeforeEach
     public void setUp() {
-        user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        user2 = new User(2L, "name2", "user2@user.ru");
-        userRepository.save(user2);
-        userService.setId(2L);
-        item = new Item(1L, user, "name", "Description", true, itemRequest);
-        itemRepository.save(item);
-        item2 = new Item(2L, user2, "name2", "Description2", true, itemRequest);
-        itemRepository.save(item2);
-        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1), item, user,
-                BookingStatus.WAITING);
-        bookingRepository.save(booking);
-        booking2 = new Booking(2L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1), item2, user2,
-                BookingStatus.WAITING);
-        bookingRepository.save(booking2);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        user2 = userRepository.save(new User(null, "name2", "user2@user.ru"));
+        item = itemRepository.save(new Item(null, user, "name", "Description", true, itemRequest));
+        item2 = itemRepository.save(new Item(null, user2, "name2", "Description2", true, itemRequest));
+        booking = bookingRepository.save(new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1),
+                item, user, BookingStatus.WAITING));
+        booking2 = bookingRepository.save(new Booking(null, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1),
+                item2, user2, BookingStatus.WAITING));
     }
 
     @Test
     @DirtiesContext
     void createBooking() throws BadRequestException {
-        userService.setId(2L);
-        itemService.setId(2L);
-        BookingEntity bookingEntity = new BookingEntity(1L, LocalDateTime.now(), LocalDateTime.now().plusMinutes(1), 2L);
-        BookingDto bookingDto = bookingService.createBooking(1L, bookingEntity);
-        assertEquals(bookingDto.getId(), bookingEntity.getId());
+        BookingEntity bookingEntity = new BookingEntity(booking.getId(), LocalDateTime.now(),
+                LocalDateTime.now().plusMinutes(1), item2.getId());
+        BookingDto bookingDto = bookingService.createBooking(user.getId(), bookingEntity);
+        assertNotEquals(booking.getId(), bookingDto.getId());
+        assertNotEquals(booking2.getId(), bookingDto.getId());
+        assertEquals(item2.getId(), bookingDto.getItem().getId());
     }
 
     @Test
     @DirtiesContext
     void bookingStatus() throws BadRequestException {
-        BookingDto bookingDto = bookingService.bookingStatus(1L, 1L, true);
+        BookingDto bookingDto = bookingService.bookingStatus(user.getId(), booking.getId(), true);
         assertEquals(bookingDto.getId(), booking.getId());
         assertEquals(bookingDto.getStatus(), BookingStatus.APPROVED);
-        BookingDto bookingDto1 = bookingService.bookingStatus(2L, 2L, false);
+        BookingDto bookingDto1 = bookingService.bookingStatus(user2.getId(), booking2.getId(), false);
         assertEquals(bookingDto1.getId(), booking2.getId());
         assertEquals(bookingDto1.getStatus(), BookingStatus.REJECTED);
     }
 
     @Test
+    @DirtiesContext
+    void bookingStatusOverlapping() {
+        Booking overlapping = bookingRepository.save(new Booking(null, booking.getStart().plusSeconds(30),
+                booking.getEnd().plusMinutes(1), item, user2, BookingStatus.WAITING));
+        bookingService.bookingStatus(user.getId(), booking.getId(), true);
+        assertThrows(ConflictException.class, () -> bookingService.bookingStatus(user.getId(), overlapping.getId(), true));
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(user2.getId(),
+                new BookingEntity(null, booking.getStart(), booking.getEnd(), item.getId())));
+    }
+
+    @Test
+    @DirtiesContext
     void getBooking() {
-        bookingService.setId(2L);
-        BookingDto bookingDto = bookingService.getBooking(1L, 1L);
+        BookingDto bookingDto = bookingService.getBooking(user.getId(), booking.getId());
         assertEquals(bookingDto.getId(), booking.getId());
     }
 
     @Test
     @DirtiesContext
     void getBookingsOwner() throws BadRequestException {
-        List<BookingDto> listAll = bookingService.getBookingsOwner(1L, "ALL", 0, 10);
+        List<BookingView> listAll = bookingService.getBookingsOwner(user.getId(), "ALL", new BookingFilter(), 0, 10);
         assertEquals(listAll.size(), 1);
-        List<BookingDto> listCurrent = bookingService.getBookingsOwner(1L, "CURRENT", 0, 10);
+        List<BookingView> listCurrent = bookingService.getBookingsOwner(user.getId(), "CURRENT", new BookingFilter(),
+                0, 10);
         assertEquals(listCurrent.size(), 1);
         booking.setStart(LocalDateTime.now().minusMinutes(10));
         booking.setEnd(LocalDateTime.now().minusMinutes(5));
         bookingRepository.save(booking);
-        List<BookingDto> listPast = bookingService.getBookingsOwner(1L, "PAST", 0, 10);
+        List<BookingView> listPast = bookingService.getBookingsOwner(user.getId(), "PAST", new BookingFilter(), 0, 10);
         assertEquals(listPast.size(), 1);
         booking.setStart(LocalDateTime.now().plusMinutes(5));
         booking.setEnd(LocalDateTime.now().plusMinutes(10));
         bookingRepository.save(booking);
-        List<BookingDto> listFuture = bookingService.getBookingsOwner(1L, "FUTURE", 0, 10);
+        List<BookingView> listFuture = bookingService.getBookingsOwner(user.getId(), "FUTURE",
+                new BookingFilter(), 0, 10);
         assertEquals(listFuture.size(), 1);
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now());
         booking.setStatus(BookingStatus.WAITING);
         bookingRepository.save(booking);
-        List<BookingDto> listWaiting = bookingService.getBookingsOwner(1L, "WAITING", 0, 10);
+        List<BookingView> listWaiting = bookingService.getBookingsOwner(user.getId(), "WAITING", new BookingFilter(),
+                0, 10);
         assertEquals(listWaiting.size(), 1);
         booking.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(booking);
-        List<BookingDto> listRejected = bookingService.getBookingsOwner(1L, "REJECTED", 0, 10);
+        List<BookingView> listRejected = bookingService.getBookingsOwner(user.getId(), "REJECTED",
+                new BookingFilter(), 0, 10);
         assertEquals(listRejected.size(), 1);
     }
 
+    @Test
+    @DirtiesContext
+    void getBookingsSqlBudget() throws BadRequestException {
+        assertEquals(1, assertStatements(1, () -> bookingService.getBookingState(user.getId(), "ALL",
+                new BookingFilter(), 0, 10)).size());
+        assertEquals(1, assertStatements(1, () -> bookingService.getBookingsOwner(user.getId(), "ALL",
+                new BookingFilter(), 0, 10)).size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getBookingsByStateSqlBudget() {
+        for (int i = 0; i < 3; i++) {
+            Item owned = itemRepository.save(new Item(null, user, "item" + i, "Description", true, itemRequest));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(i + 1),
+                    LocalDateTime.now().plusDays(i + 2), owned, user2, BookingStatus.WAITING));
+        }
+        String cursor = new PageCursor(LocalDateTime.now().plusYears(1), Long.MAX_VALUE).encode();
+
+        for (BookingState state : BookingState.values()) {
+            if (state == BookingState.UNSUPPORTED_STATUS) {
+                continue;
+            }
+            assertStatements(1, () -> bookingService.getBookingState(user2.getId(), state.name(), new BookingFilter(),
+                    0, 10));
+            assertStatements(1, () -> bookingService.getBookingsOwner(user.getId(), state.name(), new BookingFilter(),
+                    0, 10));
+            assertStatements(1, () -> bookingService.getBookingStateAfter(user2.getId(), state.name(),
+                    new BookingFilter(), cursor, 10));
+            assertStatements(1, () -> bookingService.getBookingsOwnerAfter(user.getId(), state.name(),
+                    new BookingFilter(), cursor, 10));
+        }
+        assertEquals(4, bookingService.getBookingState(user2.getId(), "ALL", new BookingFilter(), 0, 10).size());
+        assertEquals(4, bookingService.getBookingsOwner(user.getId(), "ALL", new BookingFilter(), 0, 10).size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getBookingSqlBudget() {
+        assertEquals(booking.getId(), assertStatements(1, () -> bookingService.getBooking(user.getId(),
+                booking.getId())).getId());
+    }
+
     @Test
     @DirtiesContext
     void getBookingState() throws BadRequestException {
-        List<BookingDto> listAll = bookingService.getBookingState(1L, "ALL", 0, 10);
+        List<BookingView> listAll = bookingService.getBookingState(user.getId(), "ALL", new BookingFilter(), 0, 10);
         assertEquals(listAll.size(), 1);
-        List<BookingDto> listCurrent = bookingService.getBookingState(1L, "CURRENT", 0, 10);
+        List<BookingView> listCurrent = bookingService.getBookingState(user.getId(), "CURRENT", new BookingFilter(),
+                0, 10);
         assertEquals(listCurrent.size(), 1);
         booking.setStart(LocalDateTime.now().minusMinutes(10));
         booking.setEnd(LocalDateTime.now().minusMinutes(5));
         bookingRepository.save(booking);
-        List<BookingDto> listPast = bookingService.getBookingState(1L, "PAST", 0, 10);
+        List<BookingView> listPast = bookingService.getBookingState(user.getId(), "PAST", new BookingFilter(), 0, 10);
         assertEquals(listPast.size(), 1);
         booking.setStart(LocalDateTime.now().plusMinutes(5));
         booking.setEnd(LocalDateTime.now().plusMinutes(10));
         bookingRepository.save(booking);
-        List<BookingDto> listFuture = bookingService.getBookingState(1L, "FUTURE", 0, 10);
+        List<BookingView> listFuture = bookingService.getBookingState(user.getId(), "FUTURE",
+                new BookingFilter(), 0, 10);
         assertEquals(listFuture.size(), 1);
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now());
         booking.setStatus(BookingStatus.WAITING);
         bookingRepository.save(booking);
-        List<BookingDto> listWaiting = bookingService.getBookingState(1L, "WAITING", 0, 10);
+        List<BookingView> listWaiting = bookingService.getBookingState(user.getId(), "WAITING", new BookingFilter(),
+                0, 10);
         assertEquals(listWaiting.size(), 1);
         booking.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(booking);
-        List<BookingDto> listRejected = bookingService.getBookingState(1L, "REJECTED", 0, 10);
+        List<BookingView> listRejected = bookingService.getBookingState(user.getId(), "REJECTED", new BookingFilter(),
+                0, 10);
         assertEquals(listRejected.size(), 1);
     }
-
-    @Test
-    void returnId() {
-        assertEquals(0L, bookingService.returnId());
-        bookingService.setId(2L);
-        assertEquals(2L, bookingService.returnId());
-    }
-}
\ No newline at end of file
+}
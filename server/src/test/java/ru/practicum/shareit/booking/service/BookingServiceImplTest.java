@@ -7,27 +7,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingEntity;
+import ru.practicum.shareit.booking.dto.BookingFilter;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.item.Service.ItemServiceImpl;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.Service.UserServiceImpl;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,19 +48,18 @@ class BookingServiceImplTest {
     @Mock
     ItemRepository itemRepository;
     @Mock
-    UserServiceImpl userService;
-    @Mock
-    ItemServiceImpl itemService;
+    IdIndex idIndex;
     Booking booking;
+    BookingView bookingView;
     BookingEntity bookingEntity;
     User user;
     Item item;
 
     @BeforeEach
     public void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, userService,
-                itemService);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, idIndex);
         booking = easyRandom.nextObject(Booking.class);
+        bookingView = easyRandom.nextObject(BookingView.class);
         bookingEntity = easyRandom.nextObject(BookingEntity.class);
         user = easyRandom.nextObject(User.class);
         item = easyRandom.nextObject(Item.class);
@@ -62,11 +68,13 @@ class BookingServiceImplTest {
     @Test
     void createBooking() throws BadRequestException {
         item.setAvailable(true);
-        when(userService.returnId()).thenReturn(user.getId());
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        when(idIndex.itemExists(item.getId())).thenReturn(true);
         bookingEntity.setItemId(item.getId());
-        when(itemService.returnId()).thenReturn(item.getId());
-        when(userRepository.getById(anyLong())).thenReturn(user);
-        when(itemRepository.getById(anyLong())).thenReturn(item);
+        bookingEntity.setStart(LocalDateTime.now().plusDays(1));
+        bookingEntity.setEnd(LocalDateTime.now().plusDays(2));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         BookingDto checkBookingDto = bookingService.createBooking(user.getId(), bookingEntity);
         assertEquals(checkBookingDto.getItem().getId(), bookingEntity.getItemId());
     }
@@ -78,7 +86,7 @@ class BookingServiceImplTest {
 
     @Test
     void createBookingException2() throws BadRequestException {
-        userService.setId(1L);
+        when(idIndex.userExists(1L)).thenReturn(true);
         assertThrows(NotFoundException.class, () -> bookingService.createBooking(1L, bookingEntity));
     }
 
@@ -87,17 +95,32 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.WAITING);
         item.setOwner(user);
         booking.setItem(item);
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
         BookingDto checkBookingDto = bookingService.bookingStatus(user.getId(), booking.getId(), true);
         assertEquals(checkBookingDto.getId(), booking.getId());
     }
 
+    @Test
+    void bookingStatusOverlapping() {
+        booking.setStatus(BookingStatus.WAITING);
+        item.setOwner(user);
+        booking.setItem(item);
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED, booking.getStart(),
+                booking.getEnd())).thenReturn(true);
+        assertThrows(ConflictException.class, () -> bookingService.bookingStatus(user.getId(), booking.getId(), true));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+    }
+
     @Test
     void bookingStatusException() throws BadRequestException {
         booking.setStatus(BookingStatus.WAITING);
         item.setOwner(user);
         booking.setItem(item);
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
         assertThrows(NotFoundException.class, () -> bookingService.bookingStatus(3L, booking.getId(), true));
     }
 
@@ -106,78 +129,117 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.APPROVED);
         item.setOwner(user);
         booking.setItem(item);
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
         assertThrows(BadRequestException.class, () -> bookingService.bookingStatus(user.getId(), booking.getId(), true));
     }
 
+    @Test
+    void bookingStatusNotFound() throws BadRequestException {
+        assertThrows(NotFoundException.class, () -> bookingService.bookingStatus(user.getId(), 5L, true));
+    }
+
     @Test
     void getBooking() {
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
         item.setOwner(user);
         booking.setItem(item);
         booking.setBooker(user);
-        when(userService.returnId()).thenReturn(user.getId());
+        when(idIndex.userExists(user.getId())).thenReturn(true);
         BookingDto checkBookingDto = bookingService.getBooking(user.getId(), booking.getId());
         assertEquals(checkBookingDto.getId(), booking.getId());
     }
 
     @Test
     void getBookingException() {
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
-        item.setOwner(user);
-        booking.setItem(item);
-        booking.setBooker(user);
-        when(userService.returnId()).thenReturn(1L);
         assertThrows(NotFoundException.class, () -> bookingService.getBooking(5L, booking.getId()));
     }
 
     @Test
     void getBookingException2() {
-        bookingService.setId(1L);
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
-        item.setOwner(user);
-        booking.setItem(item);
-        booking.setBooker(user);
-        when(userService.returnId()).thenReturn(user.getId());
+        when(idIndex.userExists(user.getId())).thenReturn(true);
         assertThrows(NotFoundException.class, () -> bookingService.getBooking(user.getId(), 5L));
     }
 
     @Test
     void getBookingException3() {
-        bookingService.setId(1L);
-        when(bookingRepository.getById(anyLong())).thenReturn(booking);
-        when(userService.returnId()).thenReturn(user.getId());
+        when(idIndex.bookingExists(booking.getId())).thenReturn(true);
+        when(bookingRepository.findWithItemAndBookerById(anyLong())).thenReturn(Optional.of(booking));
+        when(idIndex.userExists(user.getId())).thenReturn(true);
         assertThrows(NotFoundException.class, () -> bookingService.getBooking(user.getId(), booking.getId()));
     }
 
     @Test
     void getBookingsOwner() throws BadRequestException {
-        when(userService.returnId()).thenReturn(user.getId());
-        when(bookingRepository.findAllByBookerOwnerIdOrderByDesc(anyLong(), any())).thenReturn(List.of(booking));
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookings(argThat(query -> query.getRole() == BookingRole.OWNER
+                && query.getState() == BookingState.ALL && query.getLimit() == 10))).thenReturn(List.of(bookingView));
         List<Booking> bookingList = new ArrayList<>(Arrays.asList(booking));
-        List<BookingDto> checkList = bookingService.getBookingsOwner(user.getId(), "ALL", 0, 10);
+        List<BookingView> checkList = bookingService.getBookingsOwner(user.getId(), "ALL", new BookingFilter(), 0, 10);
         assertEquals(checkList.size(), bookingList.size());
     }
 
     @Test
     void getBookingsOwnerException() throws BadRequestException {
-        when(userService.returnId()).thenReturn(1L);
-        assertThrows(NotFoundException.class, () -> bookingService.getBookingsOwner(3L, "ALL", 0, 10));
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingsOwner(3L, "ALL",
+                new BookingFilter(), 0, 10));
     }
 
     @Test
     void getBookingsOwnerException2() throws BadRequestException {
-        when(userService.returnId()).thenReturn(user.getId());
+        when(idIndex.userExists(user.getId())).thenReturn(true);
         List<Booking> bookingList = new ArrayList<>(Arrays.asList(booking));
-        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwner(user.getId(), "UNSUPPORTED_STATUS", 0, 10));
+        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwner(user.getId(),
+                "UNSUPPORTED_STATUS", new BookingFilter(), 0, 10));
+    }
+
+    @Test
+    void getBookingsOwnerByItemAndRange() {
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        LocalDateTime rangeStart = LocalDateTime.now();
+        LocalDateTime rangeEnd = rangeStart.plusDays(7);
+        when(bookingRepository.findBookings(argThat(query -> query.getItemId().equals(item.getId())
+                && query.getRangeStart().equals(rangeStart) && query.getRangeEnd().equals(rangeEnd))))
+                .thenReturn(List.of(bookingView));
+        assertEquals(1, bookingService.getBookingsOwner(user.getId(), "ALL",
+                new BookingFilter(item.getId(), rangeStart, rangeEnd), 0, 10).size());
+        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwner(user.getId(), "ALL",
+                new BookingFilter(item.getId(), rangeEnd, rangeStart), 0, 10));
     }
 
     @Test
     void getBookingState() throws BadRequestException {
-        when(userService.returnId()).thenReturn(user.getId());
-        when(bookingRepository.findAllByBookerIdOrderByDesc(anyLong(), any())).thenReturn(List.of(booking));
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        when(bookingRepository.findBookings(argThat(query -> query.getRole() == BookingRole.BOOKER
+                && query.getState() == BookingState.ALL && query.getOffset() == 0))).thenReturn(List.of(bookingView));
         List<Booking> bookingList = new ArrayList<>(Arrays.asList(booking));
-        List<BookingDto> checkList = bookingService.getBookingState(user.getId(), "ALL", 0, 10);
+        List<BookingView> checkList = bookingService.getBookingState(user.getId(), "ALL", new BookingFilter(), 0, 10);
         assertEquals(checkList.size(), bookingList.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingStateAfter() {
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), 10L);
+        when(bookingRepository.findBookings(argThat(query -> query.getRole() == BookingRole.BOOKER
+                && query.getUserId().equals(user.getId()) && query.getState() == BookingState.PAST
+                && query.getCursor().equals(cursor) && query.getLimit() == 5)))
+                .thenReturn(List.of(bookingView));
+        List<BookingView> checkList = bookingService.getBookingStateAfter(user.getId(), "PAST", new BookingFilter(),
+                cursor.encode(), 5);
+        assertEquals(1, checkList.size());
+    }
+
+    @Test
+    void getBookingsOwnerAfterException() {
+        when(idIndex.userExists(user.getId())).thenReturn(true);
+        String cursor = new PageCursor(null, 10L).encode();
+        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwnerAfter(user.getId(), "ALL",
+                new BookingFilter(), cursor, 5));
+        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwnerAfter(user.getId(), "ALL",
+                new BookingFilter(), "???", 5));
+        assertThrows(BadRequestException.class, () -> bookingService.getBookingsOwnerAfter(user.getId(),
+                "UNSUPPORTED_STATUS", new BookingFilter(), cursor, 5));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.diagnostics;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@UtilityClass
+public class SqlBudget {
+    public static <T> T assertStatements(long budget, Supplier<T> call) {
+        SqlStatementCounter.start();
+        long count;
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            count = SqlStatementCounter.stop();
+        }
+        assertTrue(count <= budget, "Выполнено SQL-запросов: " + count + ", допустимо: " + budget);
+        return result;
+    }
+
+    public static void assertStatements(long budget, Runnable call) {
+        assertStatements(budget, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public static void assertFlatStatements(long budget, IntConsumer call, int... sizes) {
+        Long first = null;
+
+        for (int size : sizes) {
+            SqlStatementCounter.start();
+            long count;
+            try {
+                call.accept(size);
+            } finally {
+                count = SqlStatementCounter.stop();
+            }
+            assertTrue(count <= budget, "Выполнено SQL-запросов при size=" + size + ": " + count + ", допустимо: " +
+                    budget);
+
+            if (first == null) {
+                first = count;
+            }
+            assertEquals(first, count, "Число SQL-запросов зависит от size: " + size);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.diagnostics.sql-count=true")
+@AutoConfigureMockMvc
+class SqlCountFilterTest {
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DirtiesContext
+    void countsStatementsPerRequest() throws Exception {
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+
+        mvc.perform(get("/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlCountHeaderAdvice.SQL_COUNT_HEADER, "1"));
+
+        assertEquals(1, meterRegistry.get(SqlCountFilter.SQL_STATEMENTS)
+                .tag("uri", "/users/{id}")
+                .summary()
+                .count());
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdBitmapTest {
+    private final IdBitmap bitmap = new IdBitmap();
+
+    @Test
+    void addAndRemove() {
+        bitmap.add(1L);
+        bitmap.add(51L);
+        assertTrue(bitmap.contains(1L));
+        assertTrue(bitmap.contains(51L));
+        assertFalse(bitmap.contains(2L));
+        bitmap.remove(1L);
+        assertFalse(bitmap.contains(1L));
+        assertEquals(1, bitmap.size());
+    }
+
+    @Test
+    void addAll() {
+        bitmap.addAll(List.of(1L, 2L, 3L, Long.MAX_VALUE));
+        assertTrue(bitmap.contains(3L));
+        assertTrue(bitmap.contains(Long.MAX_VALUE));
+        assertEquals(4, bitmap.size());
+    }
+
+    @Test
+    void nullId() {
+        bitmap.add(null);
+        bitmap.remove(null);
+        assertFalse(bitmap.contains(null));
+        assertEquals(0, bitmap.size());
+    }
+
+    @Test
+    void reloadReplacesContents() {
+        bitmap.addAll(List.of(1L, 2L));
+        bitmap.reload(() -> List.of(2L, 3L));
+        assertFalse(bitmap.contains(1L));
+        assertTrue(bitmap.contains(2L));
+        assertTrue(bitmap.contains(3L));
+    }
+
+    @Test
+    void reloadKeepsChangesMadeWhileLoading() {
+        bitmap.addAll(List.of(1L, 2L));
+        bitmap.reload(() -> {
+            bitmap.add(4L);
+            bitmap.remove(2L);
+            return List.of(1L, 2L);
+        });
+        assertTrue(bitmap.contains(1L));
+        assertFalse(bitmap.contains(2L));
+        assertTrue(bitmap.contains(4L));
+        assertEquals(2, bitmap.size());
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertStatements;
+
+@SpringBootTest
+class IdIndexIntegrationTest {
+    @Autowired
+    IdIndex idIndex;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DirtiesContext
+    void persistAndRemove() {
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+        assertTrue(idIndex.userExists(user.getId()));
+        assertFalse(idIndex.itemExists(user.getId()));
+        userRepository.deleteById(user.getId());
+        assertFalse(idIndex.userExists(user.getId()));
+    }
+
+    @Test
+    @DirtiesContext
+    void rolledBackChangesLeaveIndexUntouched() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long rolledBack = transactionTemplate.execute(status -> {
+            Long id = userRepository.save(new User(null, "name", "user@user.ru")).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+        assertFalse(assertStatements(1, () -> idIndex.userExists(rolledBack)));
+
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.deleteById(user.getId());
+            status.setRollbackOnly();
+        });
+        assertTrue(assertStatements(0, () -> idIndex.userExists(user.getId())));
+    }
+
+    @Test
+    @DirtiesContext
+    void ownTransactionSeesItsChanges() {
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            User created = userRepository.saveAndFlush(new User(null, "name2", "user2@user.ru"));
+            assertTrue(assertStatements(0, () -> idIndex.userExists(created.getId())));
+            userRepository.deleteById(user.getId());
+            userRepository.flush();
+            assertFalse(assertStatements(0, () -> idIndex.userExists(user.getId())));
+            status.setRollbackOnly();
+        });
+        assertTrue(idIndex.userExists(user.getId()));
+    }
+
+    @Test
+    @DirtiesContext
+    void rowInsertedByAnotherNodeIsConfirmedOnce() {
+        jdbcTemplate.update("insert into users (id, name, email) values (?, ?, ?)", 5000L, "name", "other@user.ru");
+        assertTrue(assertStatements(1, () -> idIndex.userExists(5000L)));
+        assertTrue(assertStatements(0, () -> idIndex.userExists(5000L)));
+        assertFalse(assertStatements(1, () -> idIndex.userExists(5001L)));
+    }
+
+    @Test
+    @DirtiesContext
+    void rowDeletedByAnotherNodeIsDroppedOnRefresh() {
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+        assertTrue(assertStatements(0, () -> idIndex.userExists(user.getId())));
+
+        idIndex.refresh();
+        assertFalse(assertStatements(1, () -> idIndex.userExists(user.getId())));
+    }
+}
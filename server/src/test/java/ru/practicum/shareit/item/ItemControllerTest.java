@@ -10,7 +10,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.Service.ItemService;
 import ru.practicum.shareit.item.comment.CommentDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -20,8 +22,11 @@ import java.util.List;
 import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +60,42 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.getAvailability(1L, from, to)).thenReturn(List.of(new AvailabilityDto(from, to, true)));
+        mvc.perform(get("/items/{id}/availability", 1L).header("X-Sharer-User-Id", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].free", is(true)));
+    }
+
+    @Test
+    void getAvailabilityWithoutUser() throws Exception {
+        mvc.perform(get("/items/{id}/availability", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).getAvailability(any(), any(), any());
+    }
+
+    @Test
+    void getItemsWithCursor() throws Exception {
+        String cursor = new PageCursor(null, 0L).encode();
+        when(itemService.getItemsAfter(anyLong(), eq(cursor), anyInt())).thenReturn(listDto);
+        mvc.perform(get("/items").header("X-Sharer-User-Id", 1L)
+                        .param("cursor", cursor)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(item.getId()), Long.class))
+                .andExpect(header().string("X-Next-Cursor", new PageCursor(null, item.getId()).encode()));
+    }
+
     @Test
     void getItemsText() throws Exception {
         when(itemService.getItemsText(anyString(), anyInt(), anyInt())).thenReturn(listDto);
@@ -84,6 +125,18 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void createItems() throws Exception {
+        when(itemService.createItems(anyLong(), anyList())).thenReturn(List.of(item));
+        mvc.perform(post("/items/batch").header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(List.of(item)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(item.getId().intValue())));
+    }
+
     @Test
     void createComment() throws Exception {
         when(itemService.createComment(any(), anyLong(), any())).thenReturn(commentDto);
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
@@ -26,18 +27,17 @@ class ItemRepositoryTest {
     @Autowired
     ItemRequestRepository itemRequestRepository;
 
+    User user;
+    Item item1;
+    ItemRequest itemRequest;
+
     @BeforeEach
     public void setUp() {
-        User user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        User user2 = new User(2L, "name2", "user2@user.ru");
-        userRepository.save(user2);
-        ItemRequest itemRequest = new ItemRequest(1L, "name", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        Item item1 = new Item(1L, user, "name", "description", true, itemRequest);
-        Item item2 = new Item(2L, user2, "name2", "description2", true, itemRequest);
-        itemRepository.save(item1);
-        itemRepository.save(item2);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        User user2 = userRepository.save(new User(null, "name2", "user2@user.ru"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "name", user, LocalDateTime.now()));
+        item1 = itemRepository.save(new Item(null, user, "name", "description", true, itemRequest));
+        itemRepository.save(new Item(null, user2, "name2", "description2", true, itemRequest));
     }
 
     @AfterEach
@@ -51,18 +51,45 @@ class ItemRepositoryTest {
     void findAllItem() {
         List<Item> items = itemRepository.findAllItem(Pageable.ofSize(2));
         assertEquals(2, items.size());
-        assertEquals(1, items.get(0).getId());
+        assertEquals(item1.getId(), items.get(0).getId());
     }
 
     @Test
     void findAllItemWhereOwner() {
-        List<Item> items = itemRepository.findAllItemWhereOwner(1L, Pageable.ofSize(1));
-        assertEquals(1, items.get(0).getId());
+        List<Item> items = itemRepository.findAllItemWhereOwner(user.getId(), Pageable.ofSize(1));
+        assertEquals(item1.getId(), items.get(0).getId());
+    }
+
+    @Test
+    void findAllItemWhereOwnerAfter() {
+        Item item3 = itemRepository.save(new Item(null, user, "name3", "description3", true, itemRequest));
+        List<Item> items = itemRepository.findAllItemWhereOwnerAfter(user.getId(), item1.getId(), Pageable.ofSize(5));
+        assertEquals(1, items.size());
+        assertEquals(item3.getId(), items.get(0).getId());
+    }
+
+    @Test
+    void searchAvailable() {
+        itemRepository.save(new Item(null, user, "other", "name in description", true, itemRequest));
+        itemRepository.save(new Item(null, user, "name3", "hidden", false, itemRequest));
+        List<Item> items = itemRepository.searchAvailable("%name%", Pageable.ofSize(10));
+        assertEquals(3, items.size());
+        assertEquals("other", items.get(2).getName());
+        assertEquals(1, itemRepository.searchAvailable("%name%", PageRequest.of(1, 2)).size());
+        assertEquals(0, itemRepository.searchAvailable("%\\%%", Pageable.ofSize(10)).size());
     }
 
     @Test
     void findAllItemWhereRequester() {
-        List<Item> items = itemRepository.findAllItemWhereRequester(1L);
+        List<Item> items = itemRepository.findAllItemWhereRequester(itemRequest.getId());
         assertEquals(2, items.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllItemWhereRequesterIn() {
+        ItemRequest other = itemRequestRepository.save(new ItemRequest(null, "other", user, LocalDateTime.now()));
+        itemRepository.save(new Item(null, user, "name3", "description3", true, other));
+        assertEquals(3, itemRepository.findAllItemWhereRequesterIn(List.of(itemRequest.getId(), other.getId())).size());
+        assertEquals(1, itemRepository.findAllItemWhereRequesterIn(List.of(other.getId())).size());
+    }
+}
@@ -4,11 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
@@ -17,15 +19,21 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.service.ItemRequestService;
-import ru.practicum.shareit.user.Service.UserService;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertFlatStatements;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertStatements;
 
 @SpringBootTest
 class ItemServiceImplIntegrationTest {
@@ -42,9 +50,7 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     ItemService itemService;
     @Autowired
-    UserService userService;
-    @Autowired
-    ItemRequestService itemRequestService;
+    JdbcTemplate jdbcTemplate;
     ItemRequest itemRequest;
     ItemRequest itemRequest2;
     Item item;
@@ -55,87 +61,266 @@ class ItemServiceImplIntegrationTest {
 
     @BeforeEach
     public void setUp() {
-        user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        user2 = new User(2L, "name2", "user2@user.ru");
-        userRepository.save(user2);
-        userService.setId(2L);
-        itemRequest = new ItemRequest(1L, "description", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        itemRequest2 = new ItemRequest(2L, "description2", user2, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest2);
-        itemRequestService.setId(2L);
-        item = new Item(1L, user, "name", "Description", true, itemRequest);
-        itemRepository.save(item);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        user2 = userRepository.save(new User(null, "name2", "user2@user.ru"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "description", user, LocalDateTime.now()));
+        itemRequest2 = itemRequestRepository.save(new ItemRequest(null, "description2", user2,
+                LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, user, "name", "Description", true, itemRequest));
     }
 
     @Test
     @DirtiesContext
     void getItems() {
-        List<ItemDto> list = itemService.getItems(1L, 0, 10);
+        List<ItemDto> list = itemService.getItems(user.getId(), 0, 10);
         assertEquals(1, list.size());
     }
 
+    @Test
+    @DirtiesContext
+    void getItemsWithBookingsAndComments() {
+        Item item2 = itemRepository.save(new Item(null, user, "name2", "Description2", true, null));
+        Booking lastBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item, user2, BookingStatus.APPROVED));
+        Booking nextBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item, user2, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                item, user2, BookingStatus.APPROVED));
+        commentRepository.save(new Comment(null, "text", item, user2, LocalDateTime.now()));
+        List<ItemDto> list = itemService.getItems(user.getId(), 0, 10);
+        assertEquals(2, list.size());
+        assertEquals(lastBooking.getId(), list.get(0).getLastBooking().getId());
+        assertEquals(nextBooking.getId(), list.get(0).getNextBooking().getId());
+        assertEquals(1, list.get(0).getComments().size());
+        assertEquals(item2.getId(), list.get(1).getId());
+        assertNull(list.get(1).getLastBooking());
+        assertNull(list.get(1).getNextBooking());
+        assertEquals(0, list.get(1).getComments().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemsSqlBudget() {
+        Item item2 = itemRepository.save(new Item(null, user, "name2", "Description2", true, null));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item2, user2, BookingStatus.APPROVED));
+        commentRepository.save(new Comment(null, "text", item2, user2, LocalDateTime.now()));
+        List<ItemDto> list = assertStatements(4, () -> itemService.getItems(user.getId(), 0, 10));
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemsStatementsDoNotGrowWithPageSize() {
+        for (int i = 0; i < 49; i++) {
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "description" + i, user2,
+                    LocalDateTime.now()));
+            Item owned = itemRepository.save(new Item(null, user, "name" + i, "Description", true, request));
+            User booker = userRepository.save(new User(null, "booker" + i, "booker" + i + "@user.ru"));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                    LocalDateTime.now().minusDays(1), owned, booker, BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                    LocalDateTime.now().plusDays(2), owned, booker, BookingStatus.APPROVED));
+            commentRepository.save(new Comment(null, "text", owned, user2, LocalDateTime.now()));
+        }
+        assertFlatStatements(4, size -> assertEquals(size, itemService.getItems(user.getId(), 0, size).size()),
+                1, 10, 50);
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemsCommentAuthorsSqlBudget() {
+        Item item2 = itemRepository.save(new Item(null, user, "name2", "Description2", true, null));
+        commentByAuthors(item, 10);
+        commentByAuthors(item2, 10);
+        List<ItemDto> list = assertStatements(4, () -> itemService.getItems(user.getId(), 0, 10));
+        assertEquals(10, list.get(0).getComments().size());
+        assertEquals(10, list.get(1).getComments().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemsCommentAuthorsDoNotGrowWithPageSize() {
+        commentByAuthors(item, 1);
+        for (int i = 0; i < 49; i++) {
+            commentByAuthors(itemRepository.save(new Item(null, user, "name" + i, "Description", true, null)), 1);
+        }
+        assertFlatStatements(4, size -> assertEquals(size, itemService.getItems(user.getId(), 0, size).size()),
+                1, 10, 50);
+    }
+
     @Test
     @DirtiesContext
     void getItemById() {
-        itemService.setId(2L);
-        ItemDto itemDto = itemService.getItemById(1L, 1L);
+        ItemDto itemDto = itemService.getItemById(user.getId(), item.getId());
         assertEquals(itemDto.getName(), item.getName());
     }
 
+    @Test
+    @DirtiesContext
+    void getItemByIdAfterChanges() throws CloneNotSupportedException {
+        assertEquals(0, itemService.getItemById(user2.getId(), item.getId()).getComments().size());
+        assertNull(itemService.getItemById(user.getId(), item.getId()).getNextBooking());
+
+        itemService.updateItemById(user.getId(), item.getId(), new ItemDto(item.getId(), "NEWname", null, null,
+                null, null, List.of(), null));
+        commentRepository.save(new Comment(null, "text", item, user2, LocalDateTime.now()));
+        Booking nextBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item, user2, BookingStatus.APPROVED));
+
+        ItemDto itemDto = itemService.getItemById(user2.getId(), item.getId());
+        assertEquals("NEWname", itemDto.getName());
+        assertEquals(1, itemDto.getComments().size());
+        ItemDto ownerItemDto = itemService.getItemById(user.getId(), item.getId());
+        assertEquals(nextBooking.getId(), ownerItemDto.getNextBooking().getId());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemByIdSqlBudget() {
+        commentByAuthors(item, 20);
+        ItemDto itemDto = assertStatements(2, () -> itemService.getItemById(user2.getId(), item.getId()));
+        assertEquals(20, itemDto.getComments().size());
+        assertEquals("author0", itemDto.getComments().get(19).getAuthorName());
+        ItemDto ownerItemDto = assertStatements(4, () -> itemService.getItemById(user.getId(), item.getId()));
+        assertEquals(20, ownerItemDto.getComments().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemByIdCommentAuthorsDoNotGrowWithCommentCount() {
+        Map<Integer, Long> itemsByComments = new HashMap<>();
+        for (int comments : new int[]{1, 10, 50}) {
+            Item commented = itemRepository.save(new Item(null, user, "name" + comments, "Description", true, null));
+            commentByAuthors(commented, comments);
+            itemsByComments.put(comments, commented.getId());
+        }
+        assertFlatStatements(2, comments -> assertEquals(comments, itemService.getItemById(user2.getId(),
+                itemsByComments.get(comments)).getComments().size()), 1, 10, 50);
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemByIdOwnerColdCacheSqlBudget() {
+        commentByAuthors(item, 20);
+        ItemDto ownerItemDto = assertStatements(4, () -> itemService.getItemById(user.getId(), item.getId()));
+        assertEquals(20, ownerItemDto.getComments().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getItemByIdNotFound() {
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(user.getId(), item.getId() + 1));
+    }
+
     @Test
     @DirtiesContext
     void getItemsText() {
-        List<ItemDto> list = itemService.getItemsText("description", 0, 10);
+        List<ItemDto> list = itemService.getItemsText("DESCRIPTION", 0, 10);
         assertEquals(list.get(0).getId(), item.getId());
+        assertEquals(0, itemService.getItemsText("missing", 0, 10).size());
     }
 
     @Test
     @DirtiesContext
     void createComment() throws BadRequestException {
-        itemService.setId(2L);
-        booking = new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.WAITING);
-        bookingRepository.save(booking);
-        comment = new Comment(1L, "desc", item, user, LocalDateTime.now());
-        commentRepository.save(comment);
-        CommentDto commentDto = new CommentDto(1L, "Text", "Vasia", LocalDateTime.now());
-        CommentDto checkCommentDto = itemService.createComment(commentDto, 1L, 1L);
+        booking = bookingRepository.save(new Booking(null, LocalDateTime.now(), LocalDateTime.now(), item, user,
+                BookingStatus.WAITING));
+        comment = commentRepository.save(new Comment(null, "desc", item, user, LocalDateTime.now()));
+        CommentDto commentDto = new CommentDto(null, "Text", "Vasia", LocalDateTime.now());
+        CommentDto checkCommentDto = itemService.createComment(commentDto, user.getId(), item.getId());
         assertEquals(checkCommentDto.getText(), commentDto.getText());
+        assertNotEquals(comment.getId(), checkCommentDto.getId());
+    }
+
+    @Test
+    @DirtiesContext
+    void createCommentSqlBudget() {
+        bookingRepository.save(new Booking(null, LocalDateTime.now(), LocalDateTime.now(), item, user,
+                BookingStatus.WAITING));
+        CommentDto commentDto = assertStatements(5, () -> itemService.createComment(new CommentDto(null, "Text",
+                null, null), user.getId(), item.getId()));
+        assertEquals(user.getName(), commentDto.getAuthorName());
     }
 
     @Test
     @DirtiesContext
     void createItem() throws BadRequestException {
-        ItemDto itemDto = new ItemDto(1L, "NEWname", "NewDescription", true, null,
-                null, List.of(), 1L);
-        ItemDto itemDto1 = itemService.createItem(1L, itemDto);
+        ItemDto itemDto = new ItemDto(item.getId(), "NEWname", "NewDescription", true, null,
+                null, List.of(), itemRequest.getId());
+        ItemDto itemDto1 = itemService.createItem(user.getId(), itemDto);
         assertEquals(itemDto1.getName(), itemDto.getName());
+        assertNotEquals(item.getId(), itemDto1.getId());
+        assertEquals(item.getName(), itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DirtiesContext
+    void createItemsSqlBudget() {
+        List<ItemDto> itemDtos = new ArrayList<>();
+
+        for (int i = 0; i < 120; i++) {
+            itemDtos.add(new ItemDto(null, "batch" + i, "Description", true, null, null, List.of(),
+                    i % 2 == 0 ? itemRequest.getId() : null));
+        }
+
+        List<ItemDto> created = assertStatements(10, () -> itemService.createItems(user.getId(), itemDtos));
+        assertEquals(120, created.size());
+        assertEquals(itemRequest.getId(), created.get(0).getRequestId());
+        assertEquals("batch119", itemRepository.findById(created.get(119).getId()).orElseThrow().getName());
+        assertThrows(BadRequestException.class, () -> itemService.createItems(user.getId(),
+                List.of(new ItemDto(null, "", "Description", true, null, null, List.of(), null))));
+        assertThrows(NotFoundException.class, () -> itemService.createItems(user.getId(),
+                List.of(new ItemDto(null, "name", "Description", true, null, null, List.of(), 999L))));
     }
 
     @Test
     @DirtiesContext
     void updateItemById() throws BadRequestException, CloneNotSupportedException {
-        ItemDto itemDto = new ItemDto(1L, "NEWname", null, null, null,
-                null, List.of(), 1L);
-        ItemDto itemDto1 = itemService.updateItemById(1L, 1L, itemDto);
+        ItemDto itemDto = new ItemDto(item.getId(), "NEWname", null, null, null,
+                null, List.of(), itemRequest.getId());
+        ItemDto itemDto1 = itemService.updateItemById(user.getId(), item.getId(), itemDto);
         assertEquals(itemDto1.getName(), itemDto.getName());
         assertEquals(itemDto1.getDescription(), item.getDescription());
     }
 
     @Test
     @DirtiesContext
-    void deleteItemById() {
-        itemService.setId(2L);
-        itemService.deleteItemById(1L);
-        assertEquals(itemService.getItems(1L, 0, 10).size(), 0);
+    void updateItemByIdNotFound() {
+        ItemDto itemDto = new ItemDto(null, "NEWname", null, null, null, null, List.of(), null);
+        assertThrows(NotFoundException.class, () -> itemService.updateItemById(user.getId(), item.getId() + 1000,
+                itemDto));
+    }
+
+    @Test
+    @DirtiesContext
+    void deleteItemByIdNotFound() {
+        assertThrows(NotFoundException.class, () -> itemService.deleteItemById(item.getId() + 1000));
+        assertEquals(1, itemRepository.count());
+    }
+
+    @Test
+    @DirtiesContext
+    void itemDeletedByAnotherNode() {
+        Item removed = itemRepository.save(new Item(null, user, "removed", "Description", true, null));
+        jdbcTemplate.update("delete from items where id = ?", removed.getId());
+        ItemDto itemDto = new ItemDto(null, "NEWname", null, null, null, null, List.of(), null);
+        assertThrows(NotFoundException.class, () -> itemService.updateItemById(user.getId(), removed.getId(),
+                itemDto));
+        assertThrows(NotFoundException.class, () -> itemService.deleteItemById(removed.getId()));
     }
 
     @Test
     @DirtiesContext
-    void returnId() {
-        assertEquals(0, itemService.returnId());
-        itemService.setId(2L);
-        assertEquals(2L, itemService.returnId());
+    void deleteItemById() {
+        itemService.deleteItemById(item.getId());
+        assertEquals(itemService.getItems(user.getId(), 0, 10).size(), 0);
+    }
+
+    private void commentByAuthors(Item commented, int authors) {
+        for (int i = 0; i < authors; i++) {
+            User author = userRepository.save(new User(null, "author" + i, commented.getId() + "author" + i + "@user.ru"));
+            commentRepository.save(new Comment(null, "text" + i, commented, author, LocalDateTime.now().plusSeconds(i)));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.Service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,13 +11,18 @@ import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.BadRequestException;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.cache.ItemCache;
 import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentRepository;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.Service.UserService;
@@ -24,13 +30,21 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.item.comment.CommentMapper.makeCommentDto;
 import static ru.practicum.shareit.user.mapper.UserMapper.makeUserDto;
@@ -51,6 +65,10 @@ class ItemServiceImplTest {
     CommentRepository commentRepository;
     @Mock
     ItemRequestRepository itemRequestRepository;
+    @Mock
+    IdIndex idIndex;
+    @Mock
+    ItemSearch itemSearch;
     private Item item;
     private Item secondItem;
     private List<Item> itemList;
@@ -64,7 +82,8 @@ class ItemServiceImplTest {
     @BeforeEach
     public void setUp() {
         itemService = new ItemServiceImpl(userService, userRepository, itemRepository,
-                bookingRepository, commentRepository, itemRequestRepository);
+                bookingRepository, commentRepository, itemRequestRepository, idIndex, itemSearch,
+                new ItemCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()));
         item = easyRandom.nextObject(Item.class);
         itemList = new ArrayList<>();
         itemList.add(item);
@@ -82,22 +101,30 @@ class ItemServiceImplTest {
     void getItems() throws BadRequestException {
         when(itemRepository.findAllItemWhereOwner(anyLong(), any()))
                 .thenReturn(itemList);
-        when(bookingRepository.getNextBookingForItem(anyLong(), any()))
-                .thenReturn(Optional.ofNullable(next));
-        when(bookingRepository.getLastBookingForItem(anyLong(), any()))
-                .thenReturn(Optional.ofNullable(last));
-        when(commentRepository.getCommentsForItem(anyLong()))
+        next.setItem(item);
+        last.setItem(item);
+        comment.setItem(item);
+        when(bookingRepository.getNextBookingsForItems(anyList(), any()))
+                .thenReturn(List.of(next));
+        when(bookingRepository.getLastBookingsForItems(anyList(), any()))
+                .thenReturn(List.of(last));
+        when(commentRepository.getCommentsForItems(anyList()))
                 .thenReturn(commentList);
         List<ItemDto> listDto = ItemMapper.listToItemDto(itemList);
         List<ItemDto> checkList = itemService.getItems(1L, 0, 10);
         assertEquals(listDto.size(), checkList.size());
+        assertEquals(next.getId(), checkList.get(0).getNextBooking().getId());
+        assertEquals(last.getId(), checkList.get(0).getLastBooking().getId());
+        assertEquals(1, checkList.get(0).getComments().size());
     }
 
     @Test
     void getItemById() {
         Long id = item.getId();
-        when(itemRepository.getById(anyLong()))
-                .thenReturn(item);
+        when(idIndex.itemExists(id))
+                .thenReturn(true);
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
         when(commentRepository.getCommentsForItem(anyLong()))
                 .thenReturn(commentList);
         ItemDto checkItemDto = itemService.getItemById(1L, id);
@@ -105,26 +132,112 @@ class ItemServiceImplTest {
         assertEquals(checkItemDto.getId(), itemDto.getId());
     }
 
+    @Test
+    void getItemByIdCached() {
+        Long id = item.getId();
+        when(idIndex.itemExists(id))
+                .thenReturn(true);
+        when(itemRepository.findById(id))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.getCommentsForItem(id))
+                .thenReturn(commentList);
+        itemService.getItemById(item.getOwner().getId() + 1, id);
+        ItemDto checkItemDto = itemService.getItemById(item.getOwner().getId() + 2, id);
+        assertEquals(item.getName(), checkItemDto.getName());
+        verify(itemRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void getItemByIdOwnerLoadsItemOnce() {
+        Long id = item.getId();
+        when(idIndex.itemExists(id))
+                .thenReturn(true);
+        when(itemRepository.findById(id))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.getCommentsForItem(id))
+                .thenReturn(commentList);
+        itemService.getItemById(item.getOwner().getId(), id);
+        verify(itemRepository, times(1)).findById(id);
+        verify(bookingRepository, times(1)).getNextBookingForItem(eq(id), any());
+    }
+
+    @Test
+    void getItemByIdReturnsCopies() {
+        Long id = item.getId();
+        when(idIndex.itemExists(id))
+                .thenReturn(true);
+        when(itemRepository.findById(id))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.getCommentsForItem(id))
+                .thenReturn(commentList);
+        ItemDto first = itemService.getItemById(item.getOwner().getId() + 1, id);
+        first.setName("changed");
+        first.getComments().get(0).setText("changed");
+        first.getComments().clear();
+        ItemDto second = itemService.getItemById(item.getOwner().getId() + 1, id);
+        assertEquals(item.getName(), second.getName());
+        assertEquals(1, second.getComments().size());
+        assertEquals(comment.getText(), second.getComments().get(0).getText());
+    }
+
     @Test
     void getItemsText() {
-        when(itemRepository.findAllItem(any())).thenReturn(itemList);
         String text = item.getDescription();
+        when(itemSearch.search(anyString(), any())).thenReturn(itemList);
         List<ItemDto> checkItemsDto = itemService.getItemsText(text, 0, 10);
         assertEquals(checkItemsDto.size(), itemList.size());
         ItemDto checkItemDto = checkItemsDto.get(0);
         assertEquals(checkItemDto.getName(), item.getName());
     }
 
+    @Test
+    void getAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        item.setAvailable(true);
+        when(idIndex.itemExists(item.getId())).thenReturn(true);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findInWindow(eq(item.getId()), eq(BookingStatus.APPROVED), eq(from), eq(to)))
+                .thenReturn(List.of(
+                        new Booking(1L, from.minusDays(1), from.plusDays(1), item, user, BookingStatus.APPROVED),
+                        new Booking(2L, from.plusDays(1), from.plusDays(2), item, user, BookingStatus.APPROVED),
+                        new Booking(3L, from.plusDays(5), to.plusDays(1), item, user, BookingStatus.APPROVED)));
+        List<AvailabilityDto> ranges = itemService.getAvailability(item.getId(), from, to);
+        assertEquals(List.of(
+                new AvailabilityDto(from, from.plusDays(2), false),
+                new AvailabilityDto(from.plusDays(2), from.plusDays(5), true),
+                new AvailabilityDto(from.plusDays(5), to, false)), ranges);
+    }
+
+    @Test
+    void getAvailabilityFreeOrUnavailable() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        item.setAvailable(true);
+        when(idIndex.itemExists(item.getId())).thenReturn(true);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        assertEquals(List.of(new AvailabilityDto(from, to, true)), itemService.getAvailability(item.getId(), from, to));
+        item.setAvailable(false);
+        assertEquals(List.of(new AvailabilityDto(from, to, false)), itemService.getAvailability(item.getId(), from, to));
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(item.getId(), to, from));
+    }
+
+    @Test
+    void getItemsTextBlank() {
+        assertEquals(0, itemService.getItemsText(" ", 0, 10).size());
+    }
+
     @Test
     void createComment() throws BadRequestException {
-        when(userService.returnId()).thenReturn(item.getOwner().getId());
         Long userId = 1L;
-        when(userService.returnId())
-                .thenReturn(userId);
+        when(idIndex.userExists(anyLong()))
+                .thenReturn(true);
+        when(idIndex.itemExists(anyLong()))
+                .thenReturn(true);
         when(bookingRepository.checkStatusOfBooking(anyLong(), any(), any()))
                 .thenReturn(BookingStatus.APPROVED);
-        when(itemRepository.getById(anyLong())).thenReturn(item);
-        when(userRepository.getById(anyLong())).thenReturn(user);
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         CommentDto commentDto = makeCommentDto(comment);
         CommentDto checkCommentDto = itemService.createComment(commentDto, userId, item.getId());
         assertEquals(checkCommentDto.getText(), comment.getText());
@@ -132,7 +245,7 @@ class ItemServiceImplTest {
 
     @Test
     void createItem() throws BadRequestException {
-        when(userRepository.getById(anyLong())).thenReturn(user);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.ofNullable(itemRequest));
         UserDto userDto = makeUserDto(user);
         when(userService.getUserById(anyLong())).thenReturn(userDto);
@@ -141,9 +254,35 @@ class ItemServiceImplTest {
         assertEquals(checkItemDto.getName(), item.getName());
     }
 
+    @Test
+    void createItems() {
+        when(idIndex.userExists(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(idIndex.requestExists(itemRequest.getId())).thenReturn(true);
+        when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
+        item.setRequestId(itemRequest);
+        secondItem.setRequestId(null);
+        List<ItemDto> created = itemService.createItems(1L, List.of(ItemMapper.makeItemDto(item),
+                ItemMapper.makeItemDto(secondItem)));
+        assertEquals(2, created.size());
+        assertEquals(itemRequest.getId(), created.get(0).getRequestId());
+        verify(itemRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void createItemsException() {
+        assertThrows(NotFoundException.class, () -> itemService.createItems(1L, List.of(ItemMapper.makeItemDto(item))));
+        when(idIndex.userExists(1L)).thenReturn(true);
+        assertThrows(BadRequestException.class, () -> itemService.createItems(1L, List.of()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        secondItem.setAvailable(null);
+        assertThrows(BadRequestException.class, () -> itemService.createItems(1L,
+                List.of(ItemMapper.makeItemDto(secondItem))));
+    }
+
     @Test
     void updateItemById() throws BadRequestException, CloneNotSupportedException {
-        when(itemRepository.getById(anyLong())).thenReturn(item);
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         ItemDto itemDto = ItemMapper.makeItemDto(secondItem);
         ItemDto checkItem = itemService.updateItemById(item.getOwner().getId(), 1L, itemDto);
         assertEquals(checkItem.getName(), item.getName());
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ItemCacheBroadcastTest {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Item item = new Item(1L, new User(1L, "name", "user@user.ru"), "name", "description", true, null);
+    private ItemCache first;
+    private ItemCache second;
+    private ItemCacheBroadcast firstBroadcast;
+    private ItemCacheBroadcast secondBroadcast;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(),
+                POSTGRES.getUsername(), POSTGRES.getPassword());
+        first = new ItemCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        second = new ItemCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        firstBroadcast = new ItemCacheBroadcast(dataSource, first);
+        secondBroadcast = new ItemCacheBroadcast(dataSource, second);
+        firstBroadcast.start();
+        secondBroadcast.start();
+        awaitListening(firstBroadcast);
+        awaitListening(secondBroadcast);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        firstBroadcast.stop();
+        secondBroadcast.stop();
+    }
+
+    @Test
+    void changeOnOneNodeEvictsTheOther() throws InterruptedException {
+        awaitLoads(1);
+        first.onChange(item);
+        awaitLoads(2);
+    }
+
+    @Test
+    void userChangeOnOneNodeClearsTheOther() throws InterruptedException {
+        awaitLoads(1);
+        first.onChange(item.getOwner());
+        awaitLoads(2);
+    }
+
+    private static void awaitListening(ItemCacheBroadcast broadcast) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (!broadcast.isListening() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(broadcast.isListening());
+    }
+
+    private void awaitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            second.get(item.getId(), false, () -> {
+                loads.incrementAndGet();
+                return new CachedItem(item.getOwner().getId(), new ItemDto(), null);
+            });
+            Thread.sleep(50);
+        }
+        assertEquals(expected, loads.get());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ItemCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ItemCache itemCache;
+    private AtomicInteger loads;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        itemCache = new ItemCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+        item = new Item(1L, new User(1L, "name", "user@user.ru"), "name", "description", true, null);
+    }
+
+    @Test
+    void getCachesLoadedItem() {
+        get(false, null);
+        get(false, null);
+        assertEquals(1, loads.get());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "items").tag("result", "hit").functionCounter());
+    }
+
+    @Test
+    void itemAndCommentChangesEvictBothViews() {
+        get(false, null);
+        get(true, null);
+        itemCache.onChange(item);
+        get(false, null);
+        get(true, null);
+        itemCache.onCreate(new Comment(1L, "text", item, item.getOwner(), LocalDateTime.now()));
+        get(false, null);
+        get(true, null);
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void approvedBookingEvictsOwnerView() {
+        get(false, null);
+        get(true, null);
+        itemCache.onCreate(new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), item, item.getOwner(),
+                BookingStatus.WAITING));
+        get(true, null);
+        itemCache.onChange(new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), item, item.getOwner(),
+                BookingStatus.APPROVED));
+        get(false, null);
+        get(true, null);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void ownerViewExpiresAtNextBooking() {
+        get(true, LocalDateTime.now().minusSeconds(1));
+        get(true, LocalDateTime.now().minusSeconds(1));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void userChangeClearsCache() {
+        get(false, null);
+        itemCache.onCreate(item.getOwner());
+        get(false, null);
+        itemCache.onChange(item.getOwner());
+        get(false, null);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void committedChangesAreBroadcast() {
+        List<String> messages = new ArrayList<>();
+        itemCache.broadcastTo(messages::add);
+        itemCache.onChange(item);
+        itemCache.onChange(new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), item, item.getOwner(),
+                BookingStatus.APPROVED));
+        itemCache.onChange(item.getOwner());
+        assertEquals(List.of("1", "1:owner", "*"), messages);
+    }
+
+    @Test
+    void rolledBackChangesAreNotBroadcast() {
+        List<String> messages = new ArrayList<>();
+        itemCache.broadcastTo(messages::add);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemCache.onChange(item);
+            assertEquals(List.of(), messages);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(), messages);
+    }
+
+    @Test
+    void broadcastEvictsLikeLocalChanges() {
+        get(false, null);
+        get(true, null);
+        itemCache.onBroadcast("1:owner");
+        get(false, null);
+        get(true, null);
+        itemCache.onBroadcast("1");
+        get(false, null);
+        get(true, null);
+        itemCache.onBroadcast("*");
+        get(false, null);
+        assertEquals(6, loads.get());
+    }
+
+    private void get(boolean ownerView, LocalDateTime validUntil) {
+        itemCache.get(item.getId(), ownerView, () -> {
+            loads.incrementAndGet();
+            return new CachedItem(item.getOwner().getId(), new ItemDto(), validUntil);
+        });
+    }
+}
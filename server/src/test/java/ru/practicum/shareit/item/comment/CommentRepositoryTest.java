@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.comment;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
@@ -16,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class CommentRepositoryTest {
@@ -27,17 +30,17 @@ class CommentRepositoryTest {
     ItemRequestRepository itemRequestRepository;
     @Autowired
     CommentRepository commentRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    Item item1;
 
     @BeforeEach
     public void setUp() {
-        User user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        ItemRequest itemRequest = new ItemRequest(1L, "name", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        Item item1 = new Item(1L, user, "name", "description", true, itemRequest);
-        itemRepository.save(item1);
-        Comment comment = new Comment(1L, "Text", item1, user, LocalDateTime.now());
-        commentRepository.save(comment);
+        User user = userRepository.save(new User(null, "name", "user@user.ru"));
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "name", user, LocalDateTime.now()));
+        item1 = itemRepository.save(new Item(null, user, "name", "description", true, itemRequest));
+        commentRepository.save(new Comment(null, "Text", item1, user, LocalDateTime.now()));
     }
 
     @AfterEach
@@ -50,7 +53,17 @@ class CommentRepositoryTest {
 
     @Test
     void getCommentsForItem() {
-        List<Comment> list = commentRepository.getCommentsForItem(1L);
+        List<Comment> list = commentRepository.getCommentsForItem(item1.getId());
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void getCommentsForItemsFetchesAuthor() {
+        entityManager.flush();
+        entityManager.clear();
+        List<Comment> list = commentRepository.getCommentsForItems(List.of(item1.getId()));
         assertEquals(1, list.size());
+        assertTrue(Hibernate.isInitialized(list.get(0).getAuthor()));
+        assertEquals("name", list.get(0).getAuthor().getName());
     }
-}
\ No newline at end of file
+}
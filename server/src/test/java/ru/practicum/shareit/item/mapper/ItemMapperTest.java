@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 class ItemMapperTest {
     private final EasyRandom easyRandom = new EasyRandom();
@@ -36,4 +37,14 @@ class ItemMapperTest {
         List<ItemDto> listDto = ItemMapper.listToItemDto(list);
         assertEquals(list.size(), listDto.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void copyItemDto() {
+        ItemDto itemDto = easyRandom.nextObject(ItemDto.class);
+        ItemDto copy = ItemMapper.copyItemDto(itemDto);
+        assertEquals(itemDto, copy);
+        assertNotSame(itemDto.getComments(), copy.getComments());
+        assertNotSame(itemDto.getComments().get(0), copy.getComments().get(0));
+        assertNotSame(itemDto.getNextBooking(), copy.getNextBooking());
+    }
+}
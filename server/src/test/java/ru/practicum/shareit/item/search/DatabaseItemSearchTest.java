@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseItemSearchTest {
+    @Mock
+    ItemRepository itemRepository;
+
+    @Test
+    void search() {
+        DatabaseItemSearch itemSearch = new DatabaseItemSearch(itemRepository);
+        when(itemRepository.searchAvailable("%дрель%", PageRequest.of(0, 10))).thenReturn(List.of());
+        assertEquals(0, itemSearch.search("Дрель", PageRequest.of(0, 10)).size());
+        verify(itemRepository).searchAvailable("%дрель%", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void toPattern() {
+        assertEquals("%50\\%\\_off\\\\%", DatabaseItemSearch.toPattern("50%_OFF\\"));
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchTest {
+    @Mock
+    ItemRepository itemRepository;
+    private InMemoryItemSearch itemSearch;
+    private Item drill;
+    private Item saw;
+    private Item hidden;
+
+    @BeforeEach
+    public void setUp() {
+        drill = new Item(1L, null, "Дрель", "Аккумуляторная дрель", true, null);
+        saw = new Item(2L, null, "Пила", "Пила по дереву, не дрель", true, null);
+        hidden = new Item(3L, null, "Дрель ударная", "Сломана", false, null);
+        when(itemRepository.findAll()).thenReturn(List.of(drill, saw, hidden));
+        itemSearch = new InMemoryItemSearch(itemRepository);
+        itemSearch.load();
+    }
+
+    @Test
+    void search() {
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(saw, drill));
+        List<Item> items = itemSearch.search("ДРЕЛЬ", PageRequest.of(0, 10));
+        assertEquals(List.of(drill, saw), items);
+    }
+
+    @Test
+    void searchPage() {
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), itemSearch.search("дрель", PageRequest.of(1, 1)));
+    }
+
+    @Test
+    void searchShortText() {
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), itemSearch.search("ил", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void searchNothing() {
+        when(itemRepository.findAllById(List.of())).thenReturn(List.of());
+        assertEquals(0, itemSearch.search("молоток", PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void indexAndRemove() {
+        saw.setName("Пила-дрель");
+        itemSearch.index(saw);
+        itemSearch.remove(drill);
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), itemSearch.search("дрель", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void changesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearch.remove(drill);
+            when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(drill, saw));
+            assertEquals(List.of(drill, saw), itemSearch.search("дрель", PageRequest.of(0, 10)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+        assertEquals(List.of(saw), itemSearch.search("дрель", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void rolledBackChangesAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearch.remove(drill);
+            saw.setName("Пила");
+            saw.setDescription("Пила по дереву");
+            itemSearch.index(saw);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(drill, saw));
+        assertEquals(List.of(drill, saw), itemSearch.search("дрель", PageRequest.of(0, 10)));
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exceptions.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+    @Test
+    void encodeAndDecode() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2022, 9, 1, 12, 30, 15, 123000), 7L);
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodeAndDecodeWithoutTime() {
+        PageCursor cursor = PageCursor.decode(new PageCursor(null, 3L).encode());
+        assertNull(cursor.getTime());
+        assertEquals(3L, cursor.getId());
+    }
+
+    @Test
+    void decodeGarbage() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("MTIzfGFiYw"));
+    }
+
+    @Test
+    void offsetKeepsExactFrom() {
+        assertEquals(3, Pagination.offset(3, 2, Sort.unsorted()).getOffset());
+        assertThrows(BadRequestException.class, () -> Pagination.offset(-1, 2, Sort.unsorted()));
+        assertThrows(BadRequestException.class, () -> Pagination.offset(0, 0, Sort.unsorted()));
+    }
+}
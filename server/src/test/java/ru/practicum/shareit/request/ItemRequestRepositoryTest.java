@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -26,18 +27,17 @@ class ItemRequestRepositoryTest {
     @Autowired
     ItemRequestRepository itemRequestRepository;
 
+    User user;
+    ItemRequest itemRequest;
+    ItemRequest itemRequest2;
+
     @BeforeEach
     public void saveObject() {
-        User user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        User user2 = new User(2L, "name2", "user2@user.ru");
-        userRepository.save(user2);
-        ItemRequest itemRequest = new ItemRequest(1L, "name", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        ItemRequest itemRequest2 = new ItemRequest(2L, "name", user2, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest2);
-        Item item1 = new Item(1L, user, "name", "description", true, itemRequest);
-        itemRepository.save(item1);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        User user2 = userRepository.save(new User(null, "name2", "user2@user.ru"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "name", user, LocalDateTime.now()));
+        itemRequest2 = itemRequestRepository.save(new ItemRequest(null, "name", user2, LocalDateTime.now()));
+        itemRepository.save(new Item(null, user, "name", "description", true, itemRequest));
     }
 
     @AfterEach
@@ -49,14 +49,26 @@ class ItemRequestRepositoryTest {
 
     @Test
     void getAllItemRequestForUser() {
-        List<ItemRequest> lists = itemRequestRepository.getAllItemRequestForUser(1L);
-        assertEquals(1, lists.get(0).getId());
+        List<ItemRequest> lists = itemRequestRepository.getAllItemRequestForUser(user.getId());
+        assertEquals(itemRequest.getId(), lists.get(0).getId());
     }
 
     @Test
     void getAllItemRequestForUserNull() {
-        List<ItemRequest> lists = itemRequestRepository.getAllItemRequestForUserNull(1L, Pageable.ofSize(1));
+        List<ItemRequest> lists = itemRequestRepository.getAllItemRequestForUserNull(user.getId(), Pageable.ofSize(1));
+        assertEquals(1, lists.size());
+        assertEquals(itemRequest2.getId(), lists.get(0).getId());
+    }
+
+    @Test
+    void getAllItemRequestForUserNullAfter() {
+        User user3 = userRepository.save(new User(null, "name3", "user3@user.ru"));
+        ItemRequest older = itemRequestRepository.save(new ItemRequest(null, "name", user3,
+                itemRequest2.getCreated().minusDays(1)));
+        PageCursor cursor = new PageCursor(itemRequest2.getCreated(), itemRequest2.getId());
+        List<ItemRequest> lists = itemRequestRepository.getAllItemRequestForUserNullAfter(user.getId(),
+                cursor.getTime(), cursor.getId(), Pageable.ofSize(5));
         assertEquals(1, lists.size());
-        assertEquals(2, lists.get(0).getId());
+        assertEquals(older.getId(), lists.get(0).getId());
     }
 }
\ No newline at end of file
@@ -11,7 +11,6 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.Service.UserService;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -19,6 +18,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static ru.practicum.shareit.diagnostics.SqlBudget.assertStatements;
 
 
 @SpringBootTest
@@ -31,8 +32,6 @@ class ItemRequestServiceImplIntegrationTest {
     UserRepository userRepository;
     @Autowired
     ItemRepository itemRepository;
-    @Autowired
-    UserService userService;
     ItemRequest itemRequest;
     ItemRequest itemRequest2;
     Item item;
@@ -41,21 +40,16 @@ class ItemRequestServiceImplIntegrationTest {
 
     @BeforeEach
     public void setUp() {
-        user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        user2 = new User(2L, "name2", "user2@user.ru");
-        userRepository.save(user2);
-        userService.setId(2L);
-        itemRequest = new ItemRequest(1L, "description", user, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest);
-        itemRequest2 = new ItemRequest(2L, "description2", user2, LocalDateTime.now());
-        itemRequestRepository.save(itemRequest2);
-        itemRequestService.setId(2L);
-        item = new Item(1L, user, "name", "Description", true, itemRequest);
-        itemRepository.save(item);
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
+        user2 = userRepository.save(new User(null, "name2", "user2@user.ru"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "description", user, LocalDateTime.now()));
+        itemRequest2 = itemRequestRepository.save(new ItemRequest(null, "description2", user2,
+                LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, user, "name", "Description", true, itemRequest));
     }
 
     @Test
+    @DirtiesContext
     void getRequests() throws BadRequestException {
         List<ItemRequestDto> list = itemRequestService.getRequests(user.getId());
         assertEquals(1, list.size());
@@ -63,23 +57,51 @@ class ItemRequestServiceImplIntegrationTest {
     }
 
     @Test
+    @DirtiesContext
     void getRequestsFrom() throws BadRequestException {
-        List<ItemRequestDto> list = itemRequestService.getRequestsFrom(1L, 0, 10);
+        List<ItemRequestDto> list = itemRequestService.getRequestsFrom(user.getId(), 0, 10);
         assertEquals(1, list.size());
         assertEquals(itemRequest2.getId(), list.get(0).getId());
     }
 
     @Test
+    @DirtiesContext
+    void getRequestsSqlBudget() throws BadRequestException {
+        assertEquals(1, assertStatements(2, () -> itemRequestService.getRequests(user.getId())).size());
+        assertEquals(1, assertStatements(2, () -> itemRequestService.getRequestsFrom(user.getId(), 0, 10)).size());
+    }
+
+    @Test
+    @DirtiesContext
+    void getRequestsPageSqlBudget() throws BadRequestException {
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "description" + i, user2,
+                    LocalDateTime.now()));
+            itemRepository.save(new Item(null, user, "name" + i, "Description", true, request));
+            itemRepository.save(new Item(null, user, "other" + i, "Description", true, request));
+        }
+
+        List<ItemRequestDto> list = assertStatements(2, () -> itemRequestService.getRequestsFrom(user.getId(), 0, 10));
+        assertEquals(6, list.size());
+        assertEquals(2, list.get(0).getItems().size());
+        assertEquals(0, list.get(5).getItems().size());
+        assertEquals(6, assertStatements(2, () -> itemRequestService.getRequests(user2.getId())).size());
+    }
+
+    @Test
+    @DirtiesContext
     void getRequestsById() throws BadRequestException {
-        ItemRequestDto itemRequestDto = itemRequestService.getRequestsById(1L, 1L);
+        ItemRequestDto itemRequestDto = itemRequestService.getRequestsById(user.getId(), itemRequest.getId());
         assertEquals(itemRequestDto.getId(), itemRequest.getId());
     }
 
     @Test
     @DirtiesContext
     void createRequests() throws BadRequestException {
-        ItemRequestDto itemRequestDto = new ItemRequestDto(1L, "description3", null, LocalDateTime.now(), List.of());
-        ItemRequestDto checkItemRequestDto = itemRequestService.createRequests(2L, itemRequestDto);
+        ItemRequestDto itemRequestDto = new ItemRequestDto(itemRequest.getId(), "description3", null,
+                LocalDateTime.now(), List.of());
+        ItemRequestDto checkItemRequestDto = itemRequestService.createRequests(user2.getId(), itemRequestDto);
         assertEquals(checkItemRequestDto.getDescription(), itemRequestDto.getDescription());
+        assertNotEquals(itemRequest.getId(), checkItemRequestDto.getId());
     }
-}
\ No newline at end of file
+}
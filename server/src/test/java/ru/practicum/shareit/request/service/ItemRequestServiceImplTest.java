@@ -8,13 +8,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.user.Service.UserService;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -32,35 +32,36 @@ class ItemRequestServiceImplTest {
     private ItemRequestService itemRequestService;
     private final EasyRandom easyRandom = new EasyRandom();
     @Mock
-    UserService userService;
-    @Mock
     ItemRequestRepository itemRequestRepository;
     @Mock
     UserRepository userRepository;
     @Mock
     ItemRepository itemRepository;
+    @Mock
+    IdIndex idIndex;
 
     @BeforeEach
     public void setUp() {
-        itemRequestService = new ItemRequestServiceImpl(userService, itemRequestRepository,
-                userRepository, itemRepository);
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository,
+                itemRepository, idIndex);
     }
 
     @Test
     void getRequests() throws BadRequestException {
         Long userId = 1L;
-        when(userService.returnId())
-                .thenReturn(userId);
+        when(idIndex.userExists(userId))
+                .thenReturn(true);
         ItemRequest itemRequest = easyRandom.nextObject(ItemRequest.class);
         when(itemRequestRepository.getAllItemRequestForUser(anyLong()))
                 .thenReturn(List.of(itemRequest));
         Item item = easyRandom.nextObject(Item.class);
         item.setRequestId(itemRequest);
-        when(itemRepository.findAllItemWhereRequester(anyLong()))
+        when(itemRepository.findAllItemWhereRequesterIn(List.of(itemRequest.getId())))
                 .thenReturn(List.of(item));
         List<ItemRequestDto> list = itemRequestService.getRequests(userId);
         List<ItemRequestDto> list1 = ItemRequestMapper.listToItemRequestDto(List.of(itemRequest));
         assertEquals(list1.size(), list.size());
+        assertEquals(item.getId(), list.get(0).getItems().get(0).getId());
     }
 
     @Test
@@ -75,17 +76,19 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getRequestsFromException2() throws BadRequestException {
-        when(userService.returnId())
-                .thenReturn(1L);
+        when(idIndex.userExists(1L))
+                .thenReturn(true);
         assertThrows(BadRequestException.class, () -> itemRequestService.getRequestsFrom(1L, -1, 10));
     }
 
     @Test
     void getRequestsById() throws BadRequestException {
         Long userId = 1L;
-        when(userService.returnId())
-                .thenReturn(userId);
+        when(idIndex.userExists(userId))
+                .thenReturn(true);
         ItemRequest itemRequest = easyRandom.nextObject(ItemRequest.class);
+        when(idIndex.requestExists(itemRequest.getId()))
+                .thenReturn(true);
         when(itemRequestRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(itemRequest));
         Item item = easyRandom.nextObject(Item.class);
@@ -103,21 +106,21 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getRequestsByIdException2() throws BadRequestException {
-        when(userService.returnId())
-                .thenReturn(2L);
+        when(idIndex.userExists(1L))
+                .thenReturn(true);
         assertThrows(NotFoundException.class, () -> itemRequestService.getRequestsById(1L, 1L));
     }
 
     @Test
     void createRequests() throws BadRequestException {
         Long userId = 1L;
-        when(userService.returnId())
-                .thenReturn(userId);
+        when(idIndex.userExists(userId))
+                .thenReturn(true);
         ItemRequest itemRequest = easyRandom.nextObject(ItemRequest.class);
         ItemRequestDto itemRequestDto1 = makeItemRequestDto(itemRequest);
         User user = easyRandom.nextObject(User.class);
-        when(userRepository.getById(anyLong()))
-                .thenReturn(user);
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
         ItemRequestDto itemRequestDto = itemRequestService.createRequests(userId, itemRequestDto1);
         assertEquals(itemRequest.getDescription(), itemRequestDto.getDescription());
     }
@@ -4,8 +4,11 @@ import org.jeasy.random.EasyRandom;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -14,22 +17,26 @@ import ru.practicum.shareit.user.model.User;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class UserServiceImplIntegrationTest {
+    @Autowired
+    MockMvc mvc;
     @Autowired
     UserService userService;
     @Autowired
     UserRepository userRepository;
     private final EasyRandom easyRandom = new EasyRandom();
     User user;
-    User user2;
 
     @BeforeEach
     public void setUp() {
-        user = new User(1L, "name", "user@user.ru");
-        userRepository.save(user);
-        user2 = new User(2L, "name2", "user2@user.ru");
+        user = userRepository.save(new User(null, "name", "user@user.ru"));
     }
 
     @Test
@@ -43,8 +50,7 @@ class UserServiceImplIntegrationTest {
     @Test
     @DirtiesContext
     void getUserById() throws BadRequestException {
-        userService.setId(2L);
-        UserDto checkUser = userService.getUserById(1L);
+        UserDto checkUser = userService.getUserById(user.getId());
         assertEquals(checkUser.getName(), user.getName());
     }
 
@@ -55,28 +61,51 @@ class UserServiceImplIntegrationTest {
         userDto.setEmail("userUs@user.ru");
         User user = userService.createUser(userDto);
         assertEquals(user.getName(), userDto.getName());
+        assertNotEquals(this.user.getId(), user.getId());
+        assertEquals(2, userService.getUsers().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void createUserDuplicateEmail() {
+        UserDto userDto = new UserDto(null, "name", "USER@user.ru");
+        assertThrows(CloneNotSupportedException.class, () -> userService.createUser(userDto));
+        assertEquals(1, userService.getUsers().size());
+    }
+
+    @Test
+    @DirtiesContext
+    void updateUserByIdDuplicateEmail() throws CloneNotSupportedException {
+        User other = userService.createUser(new UserDto(null, "other", "other@user.ru"));
+        UserDto userDto = new UserDto(other.getId(), null, "User@User.ru");
+        assertThrows(CloneNotSupportedException.class, () -> userService.updateUserById(other.getId(), userDto));
+        UserDto sameEmail = new UserDto(user.getId(), null, "USER@user.ru");
+        assertEquals("USER@user.ru", userService.updateUserById(user.getId(), sameEmail).getEmail());
     }
 
     @Test
     @DirtiesContext
     void updateUserById() throws BadRequestException, CloneNotSupportedException {
-        UserDto userDto = new UserDto(1L, "Update", null);
-        User checkUser = userService.updateUserById(1L, userDto);
+        UserDto userDto = new UserDto(user.getId(), "Update", null);
+        User checkUser = userService.updateUserById(user.getId(), userDto);
         assertEquals(checkUser.getName(), "Update");
     }
 
     @Test
     @DirtiesContext
-    void deleteUserById() {
-        userService.deleteUserById(1L);
-        assertEquals(0, userService.getUsers().size());
+    void updateUserByIdNotFound() throws Exception {
+        mvc.perform(patch("/users/{userId}", user.getId() + 1000)
+                        .content("{\"name\":\"x\",\"email\":\"x@x.ru\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        assertEquals(1, userRepository.count());
+        assertEquals("user@user.ru", userRepository.findAll().get(0).getEmail());
     }
 
     @Test
     @DirtiesContext
-    void returnId() {
-        assertEquals(0, userService.returnId());
-        userService.setId(2L);
-        assertEquals(2, userService.returnId());
+    void deleteUserById() {
+        userService.deleteUserById(user.getId());
+        assertEquals(0, userService.getUsers().size());
     }
-}
\ No newline at end of file
+}
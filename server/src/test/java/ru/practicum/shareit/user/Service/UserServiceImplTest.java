@@ -6,18 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exceptions.BadRequestException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.index.IdIndex;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,12 +30,14 @@ class UserServiceImplTest {
     private UserService userService;
     @Mock
     UserRepository userRepository;
+    @Mock
+    IdIndex idIndex;
 
     private final EasyRandom easyRandom = new EasyRandom();
 
     @BeforeEach
     public void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, idIndex);
     }
 
     @Test
@@ -46,15 +53,16 @@ class UserServiceImplTest {
     @Test
     void getUserById() throws BadRequestException {
         User user1 = easyRandom.nextObject(User.class);
-        when(userRepository.getById(anyLong()))
-                .thenReturn(user1);
+        when(idIndex.userExists(anyLong()))
+                .thenReturn(true);
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user1));
         UserDto user = userService.getUserById(user1.getId());
         assertEquals(user.getId(), user.getId());
     }
 
     @Test
     void getUserByIdException() {
-        userService.setId(-1L);
         assertThrows(NotFoundException.class, () -> userService.getUserById(1L));
     }
 
@@ -63,8 +71,8 @@ class UserServiceImplTest {
     void createUser() throws BadRequestException, CloneNotSupportedException {
         UserDto user1 = easyRandom.nextObject(UserDto.class);
         user1.setEmail("us@us.ru");
-        when(userRepository.findAll())
-                .thenReturn(new ArrayList<>());
+        when(userRepository.existsByEmailIgnoreCase("us@us.ru"))
+                .thenReturn(false);
         User user = userService.createUser(user1);
         assertEquals(user1.getName(), user.getName());
     }
@@ -89,10 +97,10 @@ class UserServiceImplTest {
         user1.setEmail("user@user.ru");
         User user = easyRandom.nextObject(User.class);
         user.setEmail("userUs@us.us");
-        when(userRepository.findAll())
-                .thenReturn(new ArrayList<>());
-        when(userRepository.getById(anyLong()))
-                .thenReturn(user);
+        when(userRepository.existsByEmailIgnoreCaseAndIdNot("user@user.ru", user.getId()))
+                .thenReturn(false);
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
         User newUser = userService.updateUserById(user.getId(), user1);
         assertEquals(user1.getEmail(), newUser.getEmail());
     }
@@ -103,14 +111,36 @@ class UserServiceImplTest {
         user1.setEmail("user@user.ru");
         User user = easyRandom.nextObject(User.class);
         user.setEmail("user@user.ru");
-        when(userRepository.findAll())
-                .thenReturn(new ArrayList<>(List.of(user)));
+        when(userRepository.existsByEmailIgnoreCase("user@user.ru"))
+                .thenReturn(true);
         assertThrows(CloneNotSupportedException.class, () -> userService.createUser(user1));
     }
 
     @Test
-    void returnId() {
-        Long numb = userService.returnId();
-        assertEquals(0, numb);
+    void updateUserByIdExceptionEmail() {
+        UserDto user1 = new UserDto();
+        user1.setEmail("User@User.ru");
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(new User(1L, "name", "user@user.ru")));
+        when(userRepository.existsByEmailIgnoreCaseAndIdNot("User@User.ru", 1L))
+                .thenReturn(true);
+        assertThrows(CloneNotSupportedException.class, () -> userService.updateUserById(1L, user1));
+    }
+
+    @Test
+    void updateUserByIdNotFound() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class, () -> userService.updateUserById(1L, new UserDto(null, "x", "x@x.ru")));
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createUserExceptionConstraint() {
+        UserDto user1 = new UserDto();
+        user1.setEmail("user@user.ru");
+        when(userRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("users_email_upper_uq"));
+        assertThrows(CloneNotSupportedException.class, () -> userService.createUser(user1));
     }
 }
\ No newline at end of file